@@ -1,183 +1,83 @@
 package cafebite.demo.Booking;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.UUID;
 
 /**
  * Represents a booking made by a customer.
- * This class stores information about the booking such as the number of guests,
- * date, time, duration, table number, and status.
+ * This record stores information about the booking such as the number of guests,
+ * when it starts, how long it lasts, the table it holds, and its status.
+ * Every field is kept as its own type, so bookings can be compared without parsing text.
+ *
+ * @param bookingId The unique identifier of the booking.
+ * @param guests    The number of guests for the booking.
+ * @param start     When the booking starts.
+ * @param duration  How long the booking lasts.
+ * @param tableId   The ID of the booked table, or what the customer asked for if no table is assigned yet.
+ * @param status    The status of the booking.
  *
  * @author Aquib Afzal
  * @version 1.0
  */
-public class Booking {
-    private final UUID bookingId;
-    private String numOfGuests;
-    private String date;
-    private String hour;
-    private String minute;
-    private String duration;
-    private String table;
-    private String status; // pending, approved, canceled
-
-    /**
-     * Constructs a new Booking object with the given parameters.
-     *
-     * @param numOfGuests The number of guests for the booking.
-     * @param date        The date of the booking.
-     * @param hour        The hour of the booking.
-     * @param minute      The minute of the booking.
-     * @param duration    The duration of the booking.
-     * @param table       The table number for the booking.
-     * @param status      The status of the booking (pending, approved, canceled).
-     */
-    public Booking(String numOfGuests, String date, String hour, String minute,
-                   String duration, String table, String status) {
-        this.bookingId = UUID.randomUUID();
-        this.numOfGuests = numOfGuests;
-        this.date = date;
-        this.hour = hour;
-        this.minute = minute;
-        this.duration = duration;
-        this.table = table;
-        this.status = status;
-    }
-
-    // Getters and setters
-
-    /**
-     * Gets the number of guests for the booking.
-     *
-     * @return The number of guests.
-     */
-    public String getNumOfGuests() {
-        return numOfGuests;
-    }
-
-    /**
-     * Sets the number of guests for the booking.
-     *
-     * @param numOfGuests The number of guests to set.
-     */
-    public void setNumOfGuests(String numOfGuests) {
-        this.numOfGuests = numOfGuests;
-    }
-
-    /**
-     * Gets the date of the booking.
-     *
-     * @return The date of the booking.
-     */
-    public String getDate() {
-        return date;
-    }
-
-    /**
-     * Sets the date of the booking.
-     *
-     * @param date The date to set.
-     */
-    public void setDate(String date) {
-        this.date = date;
-    }
-
-    /**
-     * Gets the hour of the booking.
-     *
-     * @return The hour of the booking.
-     */
-    public String getHour() {
-        return hour;
-    }
-
-    /**
-     * Sets the hour of the booking.
-     *
-     * @param hour The hour to set.
-     */
-    public void setHour(String hour) {
-        this.hour = hour;
-    }
-
-    /**
-     * Gets the minute of the booking.
-     *
-     * @return The minute of the booking.
-     */
-    public String getMinute() {
-        return minute;
-    }
-
-    /**
-     * Sets the minute of the booking.
-     *
-     * @param minute The minute to set.
-     */
-    public void setMinute(String minute) {
-        this.minute = minute;
-    }
-
-    /**
-     * Gets the duration of the booking.
-     *
-     * @return The duration of the booking.
-     */
-    public String getDuration() {
-        return duration;
-    }
-
-    /**
-     * Sets the duration of the booking.
-     *
-     * @param duration The duration to set.
-     */
-    public void setDuration(String duration) {
-        this.duration = duration;
-    }
+public record Booking(UUID bookingId, int guests, LocalDateTime start, Duration duration, String tableId,
+                      BookingStatus status) {
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm");
 
     /**
-     * Gets the table number for the booking.
+     * Creates a new booking with a new unique ID.
      *
-     * @return The table number.
+     * @param guests   The number of guests for the booking.
+     * @param start    When the booking starts.
+     * @param duration How long the booking lasts.
+     * @param tableId  The table the customer asked for.
+     * @param status   The status of the booking.
+     * @return The new booking.
      */
-    public String getTable() {
-        return table;
+    public static Booking create(int guests, LocalDateTime start, Duration duration, String tableId,
+                                 BookingStatus status) {
+        return new Booking(UUID.randomUUID(), guests, start, duration, tableId, status);
     }
 
     /**
-     * Sets the table number for the booking.
+     * Gets when the booking ends.
      *
-     * @param table The table number to set.
+     * @return The start plus the duration.
      */
-    public void setTable(String table) {
-        this.table = table;
+    public LocalDateTime end() {
+        return start.plus(duration);
     }
 
     /**
-     * Gets the status of the booking.
+     * Checks whether the booking overlaps a time window.
      *
-     * @return The status of the booking (pending, approved, canceled).
+     * @param from  The start of the window.
+     * @param until The end of the window, not included.
+     * @return True if any part of the booking falls inside the window.
      */
-    public String getStatus() {
-        return status;
+    public boolean overlaps(LocalDateTime from, LocalDateTime until) {
+        return start.isBefore(until) && end().isAfter(from);
     }
 
     /**
-     * Sets the status of the booking.
+     * Makes a copy of this booking on a different table.
      *
-     * @param status The status to set (pending, approved, canceled).
+     * @param newTableId The ID of the table.
+     * @return The booking with the table.
      */
-    public void setStatus(String status) {
-        this.status = status;
+    public Booking withTable(String newTableId) {
+        return new Booking(bookingId, guests, start, duration, newTableId, status);
     }
 
     /**
-     * Gets the unique identifier for the booking.
+     * Makes a copy of this booking with a different status.
      *
-     * @return The booking ID.
+     * @param newStatus The status.
+     * @return The booking with the status.
      */
-    public UUID getBookingId() {
-        return bookingId;
+    public Booking withStatus(BookingStatus newStatus) {
+        return new Booking(bookingId, guests, start, duration, tableId, newStatus);
     }
 
     /**
@@ -187,7 +87,9 @@ public class Booking {
      */
     @Override
     public String toString() {
-        return numOfGuests + ",  " + date + ",  " + hour + ",  " + minute
-                + ",  " + duration + ",  " + table + ",  " + status + "\n";
+        long minutes = duration.toMinutes();
+        String length = minutes % 60 == 0 ? (minutes / 60) + "h" : minutes + "min";
+        return guests + ",  " + start.toLocalDate() + ",  " + start.format(TIME) + ",  " + length
+                + ",  " + tableId + ",  " + status + "\n";
     }
 }
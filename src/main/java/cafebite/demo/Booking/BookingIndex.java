@@ -0,0 +1,239 @@
+package cafebite.demo.Booking;
+
+import cafebite.demo.Storage.SortOrder;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Bookings grouped by the day they start on, with each day sorted by start time.
+ * Looking up a day or a time window only touches the days involved, so the size of
+ * the booking history does not slow down today's book.
+ *
+ * @author Aquib Afzal
+ * @version 1.0
+ */
+public final class BookingIndex {
+    private static final Comparator<Booking> BY_START = Comparator.comparing(Booking::start)
+            .thenComparing(booking -> booking.bookingId().toString());
+
+    private final TreeMap<LocalDate, List<Booking>> byDate = new TreeMap<>();
+    private final Map<String, Booking> byId = new HashMap<>();
+    private Duration longest = Duration.ZERO;
+
+    /**
+     * Constructs an index of the given bookings.
+     *
+     * @param bookings The bookings to index.
+     */
+    public BookingIndex(Collection<Booking> bookings) {
+        for (Booking booking : bookings) {
+            put(booking);
+        }
+    }
+
+    /**
+     * Adds a booking, or replaces the booking with the same ID.
+     *
+     * @param booking The booking.
+     */
+    public synchronized void put(Booking booking) {
+        remove(booking.bookingId().toString());
+        List<Booking> day = byDate.computeIfAbsent(booking.start().toLocalDate(), date -> new ArrayList<>());
+        int at = insertionPoint(day, booking);
+        day.add(at, booking);
+        byId.put(booking.bookingId().toString(), booking);
+        if (booking.duration().compareTo(longest) > 0) {
+            longest = booking.duration();
+        }
+    }
+
+    /**
+     * Removes a booking.
+     *
+     * @param bookingId The ID of the booking.
+     * @return The removed booking, or null if it was not indexed.
+     */
+    public synchronized Booking remove(String bookingId) {
+        Booking booking = byId.remove(bookingId);
+        if (booking != null) {
+            LocalDate date = booking.start().toLocalDate();
+            List<Booking> day = byDate.get(date);
+            day.remove(booking);
+            if (day.isEmpty()) {
+                byDate.remove(date);
+            }
+        }
+        return booking;
+    }
+
+    /**
+     * Finds a booking by its ID.
+     *
+     * @param bookingId The ID of the booking.
+     * @return The booking, or null if it is not indexed.
+     */
+    public synchronized Booking find(String bookingId) {
+        return byId.get(bookingId);
+    }
+
+    /**
+     * Gets the bookings that start on a day, earliest first.
+     *
+     * @param date     The day.
+     * @param statuses The statuses to include, or null for all of them.
+     * @return The bookings.
+     */
+    public synchronized List<Booking> forDate(LocalDate date, Set<BookingStatus> statuses) {
+        List<Booking> matches = new ArrayList<>();
+        for (Booking booking : byDate.getOrDefault(date, List.of())) {
+            if (statuses == null || statuses.contains(booking.status())) {
+                matches.add(booking);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Gets the bookings that overlap a time window, earliest first.
+     * Only the days from the longest booking before the window up to its end are looked at.
+     *
+     * @param from     The start of the window.
+     * @param until    The end of the window, not included.
+     * @param statuses The statuses to include, or null for all of them.
+     * @return The bookings.
+     */
+    public synchronized List<Booking> overlapping(LocalDateTime from, LocalDateTime until,
+                                                  Set<BookingStatus> statuses) {
+        List<Booking> matches = new ArrayList<>();
+        if (!from.isBefore(until)) {
+            return matches;
+        }
+        LocalDate firstDay = from.minus(longest).toLocalDate();
+        for (List<Booking> day : byDate.subMap(firstDay, true, until.toLocalDate(), true).values()) {
+            for (Booking booking : day) {
+                if (!booking.start().isBefore(until)) {
+                    break; // The rest of the day starts after the window
+                }
+                if (booking.overlaps(from, until)
+                        && (statuses == null || statuses.contains(booking.status()))) {
+                    matches.add(booking);
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Counts the bookings that start on or after a day.
+     *
+     * @param from     The first day, or null to count from the first booking.
+     * @param statuses The statuses to include, or null for all of them.
+     * @return The number of bookings.
+     */
+    public synchronized int count(LocalDate from, Set<BookingStatus> statuses) {
+        if (from == null && statuses == null) {
+            return byId.size();
+        }
+        int count = 0;
+        for (List<Booking> day : days(from, SortOrder.OLDEST_FIRST).values()) {
+            if (statuses == null) {
+                count += day.size();
+                continue;
+            }
+            for (Booking booking : day) {
+                if (statuses.contains(booking.status())) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets one page of the bookings that start on or after a day, sorted by start time.
+     * Without a status filter whole days are skipped at once.
+     *
+     * @param from     The first day, or null to start from the first booking.
+     * @param statuses The statuses to include, or null for all of them.
+     * @param order    Earliest first, or latest first.
+     * @param offset   How many bookings to skip.
+     * @param limit    The most bookings to return.
+     * @return The bookings on the page.
+     */
+    public synchronized List<Booking> page(LocalDate from, Set<BookingStatus> statuses, SortOrder order,
+                                           int offset, int limit) {
+        List<Booking> page = new ArrayList<>(Math.min(limit, 256));
+        int skip = offset;
+        for (List<Booking> day : days(from, order).values()) {
+            if (statuses == null && skip >= day.size()) {
+                skip -= day.size();
+                continue;
+            }
+            for (int i = 0; i < day.size() && page.size() < limit; i++) {
+                Booking booking = day.get(order == SortOrder.OLDEST_FIRST ? i : day.size() - 1 - i);
+                if (statuses != null && !statuses.contains(booking.status())) {
+                    continue;
+                }
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    page.add(booking);
+                }
+            }
+            if (page.size() == limit) {
+                break;
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Gets every booking, earliest first.
+     *
+     * @return The bookings.
+     */
+    public synchronized List<Booking> all() {
+        List<Booking> all = new ArrayList<>(byId.size());
+        for (List<Booking> day : byDate.values()) {
+            all.addAll(day);
+        }
+        return all;
+    }
+
+    /**
+     * Gets the number of bookings.
+     *
+     * @return The number of bookings.
+     */
+    public synchronized int size() {
+        return byId.size();
+    }
+
+    /**
+     * Gets the days from a day onwards, walked in the given order.
+     */
+    private NavigableMap<LocalDate, List<Booking>> days(LocalDate from, SortOrder order) {
+        NavigableMap<LocalDate, List<Booking>> days = from == null ? byDate : byDate.tailMap(from, true);
+        return order == SortOrder.OLDEST_FIRST ? days : days.descendingMap();
+    }
+
+    /**
+     * Finds where a booking goes in a day, keeping the day sorted by start time.
+     */
+    private static int insertionPoint(List<Booking> day, Booking booking) {
+        int at = Collections.binarySearch(day, booking, BY_START);
+        return at < 0 ? -at - 1 : at;
+    }
+}
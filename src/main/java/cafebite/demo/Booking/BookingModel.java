@@ -1,17 +1,31 @@
 package cafebite.demo.Booking;
 
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import cafebite.demo.Storage.RecordCodec;
+import cafebite.demo.Storage.Repositories;
+import cafebite.demo.Storage.Repository;
+import cafebite.demo.Storage.SheetReader;
+import cafebite.demo.Storage.SortOrder;
 
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 /**
  * Manages booking operations such as creating new bookings and retrieving existing bookings from a file.
+ * Bookings are kept in the {@link Repository} picked at startup. With the Excel store, new
+ * bookings go to an append-only journal first and {@link cafebite.demo.Storage.JournalCompactor}
+ * exports them to the bookings file in the background.
+ * Table assignment goes through a {@link TableAvailability} per bookings file, built from the
+ * stored bookings the first time it is needed, so a new booking never overlaps another on the same table.
+ * Lookups by day or time window go through a {@link BookingIndex} per bookings file, which is
+ * loaded once and kept up to date as bookings are made.
  *
  * @author Aquib Afzal
  * @version 1.0
@@ -19,91 +33,259 @@ import java.util.List;
 public class BookingModel {
 
     /**
-     * Creates a new booking and writes it to the specified file.
+     * The workbook that bookings are exported to.
+     */
+    public static final String BOOKING_FILE = "./BookingData.xlsx";
+
+    /**
+     * How a booking is laid out in the bookings sheet: one typed column per field,
+     * with the start as an ISO date-time and the duration in minutes.
+     * Rows in the older layout, with the date, hour, minute and hours in separate text
+     * columns, are still read and are written in the new layout the next time the sheet is rewritten.
+     */
+    private static final RecordCodec<Booking> CODEC = new RecordCodec<>() {
+        @Override
+        public String sheetName() {
+            return "Bookings";
+        }
+
+        @Override
+        public String[] headers() {
+            return new String[] { "Booking Id", "Guests", "Start", "Minutes", "Table", "Status" };
+        }
+
+        @Override
+        public String key(Booking booking) {
+            return booking.bookingId().toString();
+        }
+
+        @Override
+        public Object[] toCells(Booking booking) {
+            return new Object[] { booking.bookingId().toString(), booking.guests(), booking.start().toString(),
+                    booking.duration().toMinutes(), booking.tableId(), booking.status().toString() };
+        }
+
+        @Override
+        public Booking fromCells(String[] cells) {
+            UUID bookingId = parseId(SheetReader.cell(cells, 0));
+            int guests = Integer.parseInt(SheetReader.cell(cells, 1));
+            String start = SheetReader.cell(cells, 2);
+            if (start.indexOf('T') < 0) {
+                // Older layout: Date, Hours, Minute, Duration in hours, Table, Status
+                return new Booking(bookingId, guests,
+                        LocalDate.parse(start).atTime(Integer.parseInt(SheetReader.cell(cells, 3)),
+                                Integer.parseInt(SheetReader.cell(cells, 4))),
+                        Duration.ofHours(Integer.parseInt(SheetReader.cell(cells, 5))),
+                        SheetReader.cell(cells, 6), BookingStatus.parse(SheetReader.cell(cells, 7)));
+            }
+            return new Booking(bookingId, guests, LocalDateTime.parse(start),
+                    Duration.ofMinutes(Long.parseLong(SheetReader.cell(cells, 3))),
+                    SheetReader.cell(cells, 4), BookingStatus.parse(SheetReader.cell(cells, 5)));
+        }
+    };
+
+    /**
+     * Reads a stored booking ID. IDs that are not UUIDs are turned into a fixed UUID,
+     * so the same row always gets the same ID.
+     *
+     * @param text The stored ID.
+     * @return The booking ID.
+     */
+    private static UUID parseId(String text) {
+        try {
+            return UUID.fromString(text);
+        } catch (IllegalArgumentException e) {
+            return UUID.nameUUIDFromBytes(text.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * The table availability for each bookings file, loaded on first use.
+     */
+    private static final Map<String, TableAvailability> AVAILABILITY = new HashMap<>();
+
+    /**
+     * The booking index for each bookings file, loaded on first use.
+     */
+    private static final Map<String, BookingIndex> INDEXES = new HashMap<>();
+
+    /**
+     * Books the smallest free table that seats the guests and stores the booking.
+     * The booking is stored with the ID of the table it was given.
      *
      * @param filePath The path of the file to write the booking data.
      * @param booking  The booking object containing the booking details.
+     * @param minSeats The smallest table the customer asked for.
+     * @return The table that was booked, or null if no table that size is free at that time.
      * @throws IOException If an I/O error occurs.
      */
-    public void createBooking(String filePath, Booking booking) throws IOException {
-        XSSFWorkbook workbook = null;
-        Sheet sheet = null;
-        try (FileInputStream fis = new FileInputStream(filePath);) {
-            workbook = fis.available() > 0 ? new XSSFWorkbook(fis) : new XSSFWorkbook();
-            sheet = workbook.getSheet("Bookings");
-
-        } catch (FileNotFoundException e) {
-            // If the file does not exist, create a new file and write data
-            workbook = new XSSFWorkbook();
-            sheet = workbook.createSheet("Bookings");
-            Row headerRow = sheet.createRow(0);
-
-            CellStyle headerCellStyle = workbook.createCellStyle();
-            headerCellStyle.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
-            headerCellStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-
-            String[] headers = { "Booking Id", "Num Of Guest", "Date", "Hours", "Minute", "Duration", "Table",
-                    "Status" };
-            for (int i = 0; i < headers.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
-                cell.setCellStyle(headerCellStyle);
+    public Table bookFirstFreeTable(String filePath, Booking booking, int minSeats) throws IOException {
+        TableAvailability availability = availability(filePath);
+        String bookingId = booking.bookingId().toString();
+        int guests = Math.max(minSeats, booking.guests());
+        Table table;
+        synchronized (availability) {
+            table = availability.firstFreeTable(guests, booking.start(), booking.duration());
+            if (table == null) {
+                return null;
             }
+            availability.reserve(bookingId, table.getTableId(), booking.start(), booking.duration());
+        }
+        try {
+            createBooking(filePath, booking.withTable(table.getTableId()));
         } catch (IOException e) {
-            e.printStackTrace();
+            availability.release(bookingId);
+            throw e;
         }
-
-        int lastRow = sheet.getLastRowNum() == -1 ? 1 : sheet.getLastRowNum();
-        Row dataRow = sheet.createRow(lastRow + 1);
-        dataRow.createCell(0).setCellValue(booking.getBookingId().toString());
-        dataRow.createCell(1).setCellValue(booking.getNumOfGuests());
-        dataRow.createCell(2).setCellValue(booking.getDate());
-        dataRow.createCell(3).setCellValue(booking.getHour());
-        dataRow.createCell(4).setCellValue(booking.getMinute());
-        dataRow.createCell(5).setCellValue(booking.getDuration());
-        dataRow.createCell(6).setCellValue(booking.getTable());
-        dataRow.createCell(7).setCellValue(booking.getStatus());
-
-        FileOutputStream fileOut = new FileOutputStream(filePath);
-        workbook.write(fileOut);
-        fileOut.close();
+        return table;
     }
 
     /**
-     * Retrieves all bookings from the specified file.
+     * Gets the table availability for a bookings file, loading it from the stored bookings the first time.
+     * Cancelled bookings and bookings made before tables had IDs are left out.
      *
-     * @param filePath The path of the file to read the bookings from.
-     * @return A list of Booking objects containing the retrieved bookings.
+     * @param filePath The path of the bookings file.
+     * @return The table availability.
      * @throws IOException If an I/O error occurs.
      */
-    public List<Booking> getBookings(String filePath) throws IOException {
-        List<Booking> bookings = new ArrayList<>();
-        try (FileInputStream fis = new FileInputStream(filePath);) {
-            XSSFWorkbook workbook = fis.available() > 0 ? new XSSFWorkbook(fis) : new XSSFWorkbook();
-            Sheet sheet = workbook.getSheet("Bookings");
-            for (Row row : sheet) {
-                // Skip the header row
-                if (row.getRowNum() == 0) {
-                    continue;
+    public TableAvailability availability(String filePath) throws IOException {
+        synchronized (AVAILABILITY) {
+            TableAvailability availability = AVAILABILITY.get(filePath);
+            if (availability == null) {
+                TableInventory inventory = TableInventory.getInstance();
+                availability = new TableAvailability(inventory);
+                for (Booking booking : index(filePath).all()) {
+                    if (booking.status() != BookingStatus.CANCELED && inventory.find(booking.tableId()) != null) {
+                        availability.add(booking.bookingId().toString(), booking.tableId(), booking.start(),
+                                booking.duration());
+                    }
                 }
+                AVAILABILITY.put(filePath, availability);
+            }
+            return availability;
+        }
+    }
 
-                // Read data from columns
-
-                String bookingId = row.getCell(0).getStringCellValue();
-                String guests = row.getCell(1).getStringCellValue();
-                String date = row.getCell(2).getStringCellValue();
-                String hour = row.getCell(3).getStringCellValue();
-                String minute = row.getCell(4).getStringCellValue();
-                String duration = row.getCell(5).getStringCellValue();
-                String table = row.getCell(6).getStringCellValue();
-                String status = row.getCell(7).getStringCellValue();
+    /**
+     * Creates a new booking and stores it.
+     * With the Excel store the booking is appended to the booking journal.
+     *
+     * @param filePath The path of the file to write the booking data.
+     * @param booking  The booking object containing the booking details.
+     * @throws IOException If an I/O error occurs.
+     */
+    public void createBooking(String filePath, Booking booking) throws IOException {
+        repository(filePath).insert(booking);
+        index(filePath).put(booking);
+    }
 
-                Booking newBooking = new Booking(guests, date, hour, minute, duration, table, status);
-                bookings.add(newBooking);
+    /**
+     * Gets the booking index for a bookings file, reading every stored booking the first time.
+     *
+     * @param filePath The path of the bookings file.
+     * @return The booking index.
+     * @throws IOException If an I/O error occurs.
+     */
+    public BookingIndex index(String filePath) throws IOException {
+        synchronized (INDEXES) {
+            BookingIndex index = INDEXES.get(filePath);
+            if (index == null) {
+                index = new BookingIndex(repository(filePath).findAll());
+                INDEXES.put(filePath, index);
             }
-            return bookings;
-        } catch (FileNotFoundException e) {
-            return null;
+            return index;
         }
     }
+
+    /**
+     * Retrieves the bookings that start on a day, earliest first.
+     *
+     * @param filePath The path of the bookings file.
+     * @param date     The day.
+     * @param statuses The statuses to include, or null for all of them.
+     * @return The bookings, empty if there are none.
+     * @throws IOException If an I/O error occurs.
+     */
+    public List<Booking> getBookingsOn(String filePath, LocalDate date, Set<BookingStatus> statuses)
+            throws IOException {
+        return index(filePath).forDate(date, statuses);
+    }
+
+    /**
+     * Retrieves the bookings that overlap a time window, earliest first.
+     *
+     * @param filePath The path of the bookings file.
+     * @param from     The start of the window.
+     * @param until    The end of the window, not included.
+     * @param statuses The statuses to include, or null for all of them.
+     * @return The bookings, empty if there are none.
+     * @throws IOException If an I/O error occurs.
+     */
+    public List<Booking> getBookingsBetween(String filePath, LocalDateTime from, LocalDateTime until,
+                                           Set<BookingStatus> statuses) throws IOException {
+        return index(filePath).overlapping(from, until, statuses);
+    }
+
+    /**
+     * Counts the bookings that start on or after a day.
+     *
+     * @param filePath The path of the bookings file.
+     * @param from     The first day, or null to count every booking.
+     * @param statuses The statuses to include, or null for all of them.
+     * @return The number of bookings.
+     * @throws IOException If an I/O error occurs.
+     */
+    public int countBookings(String filePath, LocalDate from, Set<BookingStatus> statuses) throws IOException {
+        return index(filePath).count(from, statuses);
+    }
+
+    /**
+     * Retrieves one page of the bookings that start on or after a day, sorted by start time.
+     *
+     * @param filePath The path of the bookings file.
+     * @param from     The first day, or null to start from the first booking.
+     * @param statuses The statuses to include, or null for all of them.
+     * @param order    Earliest first, or latest first.
+     * @param offset   How many bookings to skip.
+     * @param limit    The most bookings to return.
+     * @return The bookings on the page.
+     * @throws IOException If an I/O error occurs.
+     */
+    public List<Booking> getBookingPage(String filePath, LocalDate from, Set<BookingStatus> statuses,
+                                        SortOrder order, int offset, int limit) throws IOException {
+        return index(filePath).page(from, statuses, order, offset, limit);
+    }
+
+    /**
+     * Moves every journaled booking into the bookings file.
+     *
+     * @param filePath The path of the bookings file.
+     * @return The number of bookings moved.
+     * @throws IOException If an I/O error occurs.
+     */
+    public int compact(String filePath) throws IOException {
+        return repository(filePath).compact();
+    }
+
+    /**
+     * Retrieves all bookings from the specified file.
+     *
+     * @param filePath The path of the file to read the bookings from.
+     * @return A list of Booking objects containing the retrieved bookings, or null if there are none.
+     * @throws IOException If an I/O error occurs.
+     */
+    public List<Booking> getBookings(String filePath) throws IOException {
+        List<Booking> bookings = repository(filePath).findAll();
+        return bookings.isEmpty() ? null : bookings;
+    }
+
+    /**
+     * Gets the store that holds the bookings for a file.
+     *
+     * @param filePath The path of the bookings file.
+     * @return The booking repository.
+     */
+    private Repository<Booking> repository(String filePath) {
+        return Repositories.open(filePath, CODEC);
+    }
 }
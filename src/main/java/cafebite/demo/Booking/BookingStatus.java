@@ -0,0 +1,58 @@
+package cafebite.demo.Booking;
+
+import java.util.Locale;
+
+/**
+ * The stages of a booking.
+ *
+ * @author Aquib Afzal
+ * @version 1.0
+ */
+public enum BookingStatus {
+    /**
+     * The booking has been made and is waiting to be approved.
+     */
+    PENDING,
+
+    /**
+     * The booking has been approved by the restaurant.
+     */
+    APPROVED,
+
+    /**
+     * The booking has been cancelled and no longer holds a table.
+     */
+    CANCELED;
+
+    /**
+     * Reads a status as it is stored, such as "pending", ignoring case.
+     * Anything that is not recognised counts as pending.
+     *
+     * @param text The stored status.
+     * @return The status.
+     */
+    public static BookingStatus parse(String text) {
+        if (text != null) {
+            String upper = text.trim().toUpperCase(Locale.ROOT);
+            for (BookingStatus status : values()) {
+                if (status.name().equals(upper)) {
+                    return status;
+                }
+            }
+            if (upper.equals("CANCELLED")) {
+                return CANCELED;
+            }
+        }
+        return PENDING;
+    }
+
+    /**
+     * Returns the status as it is stored and shown, such as "pending".
+     *
+     * @return The status in lower case.
+     */
+    @Override
+    public String toString() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
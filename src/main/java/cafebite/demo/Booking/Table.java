@@ -1,7 +1,77 @@
 package cafebite.demo.Booking;
 
+import java.util.Objects;
+
 /**
- * The type Table.
+ * A table in the restaurant that can be booked.
+ *
+ * @author Aquib Afzal
+ * @version 1.0
  */
 public class Table {
+    private final String tableId;
+    private final int seats;
+
+    /**
+     * Constructs a new Table.
+     *
+     * @param tableId The ID of the table, such as "T3".
+     * @param seats   The number of guests the table seats.
+     */
+    public Table(String tableId, int seats) {
+        this.tableId = tableId;
+        this.seats = seats;
+    }
+
+    /**
+     * Gets the ID of the table.
+     *
+     * @return The table ID.
+     */
+    public String getTableId() {
+        return tableId;
+    }
+
+    /**
+     * Gets the number of guests the table seats.
+     *
+     * @return The number of seats.
+     */
+    public int getSeats() {
+        return seats;
+    }
+
+    /**
+     * Checks whether another object is the same table.
+     *
+     * @param o The object to compare with.
+     * @return True if it is a table with the same ID and seats.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof Table other && seats == other.seats && tableId.equals(other.tableId);
+    }
+
+    /**
+     * Gets a hash code made from the table's ID and seats.
+     *
+     * @return The hash code.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(tableId, seats);
+    }
+
+    /**
+     * Returns the table as it is shown to customers.
+     *
+     * @return The table ID and its seats.
+     */
+    @Override
+    public String toString() {
+        return tableId + " (" + seats + " seats)";
+    }
 }
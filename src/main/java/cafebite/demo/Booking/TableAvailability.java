@@ -0,0 +1,163 @@
+package cafebite.demo.Booking;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Knows when each table is booked, so free tables can be found without reading every booking.
+ * <p>
+ * Each table has a tree of its booked time, keyed by start time, where each entry is
+ * a {@code [start, end)} slot and no two slots overlap. Checking a slot looks only at the
+ * booked slot just before it and the one just after it, so it takes logarithmic time.
+ * Bookings that overlap each other, from before conflicts were checked, are merged into one slot.
+ *
+ * @author Aquib Afzal
+ * @version 1.0
+ */
+public class TableAvailability {
+    private final TableInventory inventory;
+    private final Map<String, TreeMap<LocalDateTime, LocalDateTime>> busyByTable = new HashMap<>();
+    private final Map<String, Slot> slotsByBooking = new HashMap<>();
+
+    /**
+     * Constructs an availability engine with no bookings.
+     *
+     * @param inventory The tables in the restaurant.
+     */
+    public TableAvailability(TableInventory inventory) {
+        this.inventory = inventory;
+    }
+
+    /**
+     * Checks whether a table is free for the whole of a time slot.
+     *
+     * @param tableId  The ID of the table.
+     * @param start    When the slot starts.
+     * @param duration How long the slot lasts.
+     * @return True if nothing is booked on the table during the slot.
+     */
+    public synchronized boolean isFree(String tableId, LocalDateTime start, Duration duration) {
+        TreeMap<LocalDateTime, LocalDateTime> busy = busyByTable.get(tableId);
+        if (busy == null) {
+            return true;
+        }
+        LocalDateTime end = start.plus(duration);
+        Map.Entry<LocalDateTime, LocalDateTime> before = busy.floorEntry(start);
+        if (before != null && before.getValue().isAfter(start)) {
+            return false;
+        }
+        Map.Entry<LocalDateTime, LocalDateTime> after = busy.higherEntry(start);
+        return after == null || !after.getKey().isBefore(end);
+    }
+
+    /**
+     * Finds the smallest free table that seats a number of guests for a time slot.
+     *
+     * @param guests   The number of guests.
+     * @param start    When the slot starts.
+     * @param duration How long the slot lasts.
+     * @return The table, or null if every table big enough is booked.
+     */
+    public synchronized Table firstFreeTable(int guests, LocalDateTime start, Duration duration) {
+        for (Table table : inventory.getTables()) {
+            if (table.getSeats() >= guests && isFree(table.getTableId(), start, duration)) {
+                return table;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Books a table for a time slot if it is free.
+     *
+     * @param bookingId The ID of the booking.
+     * @param tableId   The ID of the table.
+     * @param start     When the slot starts.
+     * @param duration  How long the slot lasts.
+     * @return True if the table was free and is now booked.
+     */
+    public synchronized boolean reserve(String bookingId, String tableId, LocalDateTime start, Duration duration) {
+        if (!isFree(tableId, start, duration)) {
+            return false;
+        }
+        add(bookingId, tableId, start, duration);
+        return true;
+    }
+
+    /**
+     * Records a booking that already exists, even if it overlaps another one.
+     *
+     * @param bookingId The ID of the booking.
+     * @param tableId   The ID of the table.
+     * @param start     When the slot starts.
+     * @param duration  How long the slot lasts.
+     */
+    public synchronized void add(String bookingId, String tableId, LocalDateTime start, Duration duration) {
+        Slot slot = new Slot(tableId, start, start.plus(duration));
+        Slot previous = slotsByBooking.put(bookingId, slot);
+        if (previous != null) {
+            rebuild(previous.tableId());
+        }
+        merge(busyByTable.computeIfAbsent(tableId, id -> new TreeMap<>()), slot.start(), slot.end());
+    }
+
+    /**
+     * Frees the slot of a booking, such as when it is cancelled.
+     *
+     * @param bookingId The ID of the booking.
+     * @return True if the booking was known.
+     */
+    public synchronized boolean release(String bookingId) {
+        Slot slot = slotsByBooking.remove(bookingId);
+        if (slot == null) {
+            return false;
+        }
+        rebuild(slot.tableId());
+        return true;
+    }
+
+    /**
+     * Adds a slot to a table's tree, joining it with any slots it overlaps.
+     */
+    private static void merge(TreeMap<LocalDateTime, LocalDateTime> busy, LocalDateTime start, LocalDateTime end) {
+        Map.Entry<LocalDateTime, LocalDateTime> before = busy.floorEntry(start);
+        if (before != null && before.getValue().isAfter(start)) {
+            start = before.getKey();
+            if (before.getValue().isAfter(end)) {
+                end = before.getValue();
+            }
+            busy.remove(before.getKey());
+        }
+        Map.Entry<LocalDateTime, LocalDateTime> after = busy.ceilingEntry(start);
+        while (after != null && after.getKey().isBefore(end)) {
+            if (after.getValue().isAfter(end)) {
+                end = after.getValue();
+            }
+            busy.remove(after.getKey());
+            after = busy.ceilingEntry(start);
+        }
+        busy.put(start, end);
+    }
+
+    /**
+     * Builds a table's tree again from its bookings, after one of them was removed.
+     */
+    private void rebuild(String tableId) {
+        TreeMap<LocalDateTime, LocalDateTime> busy = new TreeMap<>();
+        for (Slot slot : slotsByBooking.values()) {
+            if (slot.tableId().equals(tableId)) {
+                merge(busy, slot.start(), slot.end());
+            }
+        }
+        busyByTable.put(tableId, busy);
+    }
+
+    /**
+     * The table and time booked by one booking.
+     */
+    private record Slot(String tableId, LocalDateTime start, LocalDateTime end) {
+    }
+}
@@ -0,0 +1,98 @@
+package cafebite.demo.Booking;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * The tables in the restaurant, smallest first.
+ * The layout can be changed with the {@code cafebite.tables} system property, a comma-separated
+ * list of seats per table such as "2,2,4,4,8,10". Tables are named T1, T2 and so on in that order.
+ *
+ * @author Aquib Afzal
+ * @version 1.0
+ */
+public class TableInventory {
+    private static final String DEFAULT_LAYOUT = "2,2,2,2,4,4,4,4,8,8,10";
+    private static TableInventory instance;
+
+    private final List<Table> tables;
+    private final Map<String, Table> tablesById = new LinkedHashMap<>();
+
+    /**
+     * Constructs an inventory of the given tables.
+     *
+     * @param tables The tables in the restaurant.
+     */
+    public TableInventory(List<Table> tables) {
+        List<Table> sorted = new ArrayList<>(tables);
+        sorted.sort(Comparator.comparingInt(Table::getSeats));
+        this.tables = List.copyOf(sorted);
+        for (Table table : this.tables) {
+            tablesById.put(table.getTableId(), table);
+        }
+    }
+
+    /**
+     * Gets the inventory for the restaurant's layout.
+     *
+     * @return The table inventory.
+     */
+    public static synchronized TableInventory getInstance() {
+        if (instance == null) {
+            instance = new TableInventory(parseLayout(System.getProperty("cafebite.tables", DEFAULT_LAYOUT)));
+        }
+        return instance;
+    }
+
+    /**
+     * Gets every table, smallest first.
+     *
+     * @return The tables.
+     */
+    public List<Table> getTables() {
+        return tables;
+    }
+
+    /**
+     * Finds a table by its ID.
+     *
+     * @param tableId The ID of the table.
+     * @return The table, or null if there is none with that ID.
+     */
+    public Table find(String tableId) {
+        return tablesById.get(tableId);
+    }
+
+    /**
+     * Gets the different table sizes in the restaurant, smallest first.
+     *
+     * @return The numbers of seats.
+     */
+    public List<Integer> getSeatSizes() {
+        TreeSet<Integer> sizes = new TreeSet<>();
+        for (Table table : tables) {
+            sizes.add(table.getSeats());
+        }
+        return List.copyOf(sizes);
+    }
+
+    /**
+     * Makes the tables from a layout such as "2,2,4,8".
+     *
+     * @param layout The seats of each table, separated by commas.
+     * @return The tables, named T1, T2 and so on.
+     */
+    private static List<Table> parseLayout(String layout) {
+        List<Table> tables = new ArrayList<>();
+        for (String seats : layout.split(",")) {
+            if (!seats.isBlank()) {
+                tables.add(new Table("T" + (tables.size() + 1), Integer.parseInt(seats.trim())));
+            }
+        }
+        return tables;
+    }
+}
@@ -0,0 +1,51 @@
+package cafebite.demo;
+
+import java.io.IOException;
+import java.util.List;
+
+import cafebite.demo.Delivery.DeliveryOrder;
+import cafebite.demo.Delivery.DispatchBoard;
+import cafebite.demo.Kitchen.KitchenQueue;
+import cafebite.demo.Kitchen.KitchenTicket;
+import cafebite.demo.Order.OrderLineRecord;
+import cafebite.demo.Order.OrderModel;
+import cafebite.demo.Order.OrderRecord;
+
+/**
+ * Places a customer's order: saves it, then hands it to the kitchen and, for
+ * deliveries, to dispatch. Used by every checkout page so they all place orders the same way.
+ *
+ * @author Emmanuel Nwokoro
+ * @version 1.0
+ */
+public final class Checkout {
+    private Checkout() {
+    }
+
+    /**
+     * Saves an order and passes it on to the kitchen and dispatch.
+     * Only a failed save is reported to the caller. Once the order is stored a failed
+     * hand-off is printed instead, so the customer is never asked to place the same order again.
+     *
+     * @param orders   the order model to save the order with
+     * @param order    the order
+     * @param lines    the lines of the order
+     * @param username the username of the customer, used for the delivery address
+     * @throws IOException if the order cannot be saved
+     */
+    public static void placeOrder(OrderModel orders, OrderRecord order, List<OrderLineRecord> lines,
+                                  String username) throws IOException {
+        orders.createOrder(OrderModel.ORDER_FILE, order, lines);
+        try {
+            if ("Delivery".equals(order.orderType())) {
+                // Dispatch picks the order up once the kitchen marks it ready
+                DispatchBoard.getInstance().expect(new DeliveryOrder(order.orderId(),
+                        order.customerName(), Customer.getAddress(username), null));
+            }
+            // Send the order to the kitchen as soon as it is stored
+            KitchenQueue.getInstance().publish(KitchenTicket.of(order, lines));
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+}
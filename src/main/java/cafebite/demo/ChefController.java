@@ -1,26 +1,98 @@
 package cafebite.demo;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
-import javafx.scene.Node;
-import javafx.stage.Stage;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.layout.FlowPane;
+import javafx.scene.layout.VBox;
 import javafx.event.ActionEvent;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 
 import java.io.IOException;
-import java.util.Objects;
+import java.util.HashMap;
+import java.util.Map;
+
+import cafebite.demo.Kitchen.KitchenQueue;
+import cafebite.demo.Kitchen.KitchenTicket;
 
 /**
  * Controls the movement for chef screen inside
  * the CafeBite app.
- * This controller has functions to make chef go back to the login screen.
+ * This controller shows the kitchen tickets as they arrive from the till,
+ * lets the chef move them from received to cooking to ready,
+ * and has functions to make chef go back to the login screen.
  *
  * @author Emmanuel Nwokoro
  * @version 1.0
  */
 public class ChefController {
 
+    @FXML
+    private Label staffNameLabel;
+    @FXML
+    private FlowPane ticketPane;
+
+    private final Map<String, VBox> ticketCards = new HashMap<>();
+
+    /**
+     * Moves kitchen queue changes onto the JavaFX Application Thread.
+     */
+    private final KitchenQueue.Listener ticketListener = new KitchenQueue.Listener() {
+        @Override
+        public void ticketUpdated(KitchenTicket ticket) {
+            Platform.runLater(() -> showTicket(ticket));
+        }
+
+        @Override
+        public void ticketCleared(KitchenTicket ticket) {
+            Platform.runLater(() -> ticketPane.getChildren().remove(ticketCards.remove(ticket.orderId())));
+        }
+    };
+
+    /**
+     * Shows who is signed in, using the session started at login,
+     * and starts showing kitchen tickets as they arrive.
+     */
+    @FXML
+    public void initialize() {
+        StaffPrincipal principal = StaffSession.getCurrent();
+        if (staffNameLabel != null && principal != null) {
+            staffNameLabel.setText("Signed in as " + principal.fullName());
+        }
+        if (ticketPane != null) {
+            // Subscribe first so no ticket is missed between the two steps
+            KitchenQueue.getInstance().subscribe(ticketListener);
+            for (KitchenTicket ticket : KitchenQueue.getInstance().openTickets()) {
+                showTicket(ticket);
+            }
+        }
+    }
+
+    /**
+     * Adds a card for a new ticket, or updates the card of a ticket that has moved on.
+     *
+     * @param ticket the ticket to show
+     */
+    private void showTicket(KitchenTicket ticket) {
+        VBox card = ticketCards.get(ticket.orderId());
+        if (card == null) {
+            card = new VBox(5);
+            card.setStyle("-fx-border-color: #ccc; -fx-border-radius: 5px; -fx-padding: 10; -fx-background-color: white;");
+            ticketCards.put(ticket.orderId(), card);
+            ticketPane.getChildren().add(card);
+        }
+        Label title = new Label(ticket.orderType() + " - " + ticket.customerName());
+        title.setStyle("-fx-font-weight: bold;");
+        Label received = new Label("Order " + ticket.orderId().substring(0, 8) + " at "
+                + ticket.receivedAt().withNano(0));
+        Label dishes = new Label(String.join("\n", ticket.lines()));
+        Label status = new Label(ticket.status().toString());
+        Button advance = new Button(ticket.status().action());
+        advance.getStyleClass().add("small-button");
+        advance.setOnAction(event -> KitchenQueue.getInstance().advance(ticket.orderId()));
+        card.getChildren().setAll(title, received, dishes, status, advance);
+    }
+
     /**
      * Does things when the chef presses
      * the back button.
@@ -32,12 +104,8 @@ public class ChefController {
      */
     @FXML
     public void handleBack(ActionEvent event) throws IOException {
-        Node node = (Node) event.getSource();
-        Stage stage = (Stage) node.getScene().getWindow();
-        Parent root = FXMLLoader.load(Objects.requireNonNull(getClass().getResource("StaffLoginPage.fxml")));
-        Scene scene = new Scene(root);
-        scene.getStylesheets().add(Objects.requireNonNull(getClass().getResource("styles.css")).toExternalForm());
-        stage.setScene(scene);
-        stage.show();
+        KitchenQueue.getInstance().unsubscribe(ticketListener);
+        StaffSession.end();
+        Navigator.getInstance().show(Navigator.STAFF_LOGIN);
     }
 }
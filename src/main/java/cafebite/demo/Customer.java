@@ -1,101 +1,112 @@
 package cafebite.demo;
 
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.*;
 import java.io.*;
 
 /**
- * Handles operations related to customers including initializing data storage,
- * saving customer data, validating customer login, and retrieving customer full names.
- * This class interacts with an Excel file to perform CRUD operations on customer data.
+ * Handles operations related to customers including saving customer data,
+ * validating customer login, and retrieving customer details.
+ * Customers are kept in the {@link CustomerRepository}, so each lookup is one map lookup.
+ * Passwords are stored as salted PBKDF2 hashes made by {@link PasswordHasher}; a password
+ * saved as plain text before hashing was added is replaced by its hash the next time
+ * that customer logs in.
  *
  * @author Emmanuel Nwokoro
  * @version 1.0
  */
 public class Customer {
-    private static final String EXCEL_FILE = "CustomerData.xlsx";
-
     /**
-     * Initializes the Excel file used for storing customer data.
-     * If the file does not exist, it creates a new file with default customer headers.
+     * Opens the customer store ahead of time, so the first login does not wait for it.
+     *
+     * @throws IOException if the customer store cannot be read
      */
-    private static void initializeExcelFile() {
-        try {
-            File file = new File(EXCEL_FILE);
-            if (!file.exists()) {
-                try (XSSFWorkbook workbook = new XSSFWorkbook()) {
-                    Sheet sheet = workbook.createSheet("Customers");
-                    Row header = sheet.createRow(0);
-                    header.createCell(0).setCellValue("First Name");
-                    header.createCell(1).setCellValue("Last Name");
-                    header.createCell(2).setCellValue("Address");
-                    header.createCell(3).setCellValue("Username");
-                    header.createCell(4).setCellValue("Password");
-                    try (FileOutputStream out = new FileOutputStream(EXCEL_FILE)) {
-                        workbook.write(out);
-                    }
-                }
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+    public static void openStore() throws IOException {
+        CustomerRepository.getInstance().load();
     }
 
     /**
-     * Saves a customer's details to the Excel file.
+     * Saves a customer's details to the customer store, with the password hashed.
+     * A username that is already in use is turned away.
      *
      * @param firstName the customer's first name.
      * @param lastName  the customer's last name.
      * @param address   the customer's address.
      * @param username  the customer's username.
      * @param password  the customer's password.
-     * @return true if the customer was successfully saved, false otherwise.
+     * @return whether the customer was saved, or why not.
      */
-    public static boolean saveCustomer(String firstName, String lastName, String address, String username, String password) {
-        initializeExcelFile();  // Ensure the file is ready and has the correct structure
-        try (FileInputStream file = new FileInputStream(EXCEL_FILE);
-             Workbook workbook = new XSSFWorkbook(file)) {
-            Sheet sheet = workbook.getSheetAt(0);
-            int rowNum = sheet.getLastRowNum();
-            Row row = sheet.createRow(++rowNum);
-            row.createCell(0).setCellValue(firstName);
-            row.createCell(1).setCellValue(lastName);
-            row.createCell(2).setCellValue(address);
-            row.createCell(3).setCellValue(username);
-            row.createCell(4).setCellValue(password);
+    public static Registration saveCustomer(String firstName, String lastName, String address, String username, String password) {
+        try {
+            boolean saved = CustomerRepository.getInstance().insert(new CustomerRecord(firstName, lastName, address,
+                    username, PasswordHasher.hash(password)));
+            return saved ? Registration.SAVED : Registration.DUPLICATE;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return Registration.FAILED;
+        }
+    }
 
-            try (FileOutputStream outFile = new FileOutputStream(EXCEL_FILE)) {
-                workbook.write(outFile);
-            }
-            return true;
+    /**
+     * Checks a customer's login details and gets their details in the same lookup.
+     * The password is hashed, so call this away from the JavaFX Application Thread.
+     *
+     * @param username the customer's username.
+     * @param password the customer's password.
+     * @return the customer's details if the login details are correct, or null otherwise.
+     * @throws IOException if the customer store cannot be read.
+     */
+    public static CustomerRecord authenticate(String username, String password) throws IOException {
+        CustomerRecord customer = CustomerRepository.getInstance().find(username);
+        if (customer == null) {
+            PasswordHasher.verify(password, UnknownUser.HASH);
+            return null;
+        }
+        if (PasswordHasher.isHash(customer.passwordHash())) {
+            return PasswordHasher.verify(password, customer.passwordHash()) ? customer : null;
+        }
+        if (!PasswordHasher.matchesPlainText(password, customer.passwordHash())) {
+            return null;
+        }
+        // Replace the plain-text password now that the customer has proved they know it
+        CustomerRecord upgraded = new CustomerRecord(customer.firstName(), customer.lastName(), customer.address(),
+                customer.username(), PasswordHasher.hash(password));
+        try {
+            CustomerRepository.getInstance().update(upgraded);
         } catch (IOException e) {
             e.printStackTrace();
-            return false;
         }
+        return upgraded;
     }
 
     /**
-     * Validates a customer's login credentials against the data stored in the Excel file.
+     * Validates a customer's login credentials against the stored customers.
      *
      * @param username the customer's username to validate.
      * @param password the customer's password to validate.
      * @return true if the credentials are valid, false otherwise.
      */
     public static boolean validateLogin(String username, String password) {
-        try (FileInputStream file = new FileInputStream(EXCEL_FILE);
-             Workbook workbook = new XSSFWorkbook(file)) {
-            Sheet sheet = workbook.getSheetAt(0);
-            for (Row row : sheet) {
-                if (row.getRowNum() == 0) continue; // skip header row
-                if (username.equals(row.getCell(3).getStringCellValue()) &&
-                        password.equals(row.getCell(4).getStringCellValue())) {
-                    return true;
-                }
-            }
+        try {
+            return authenticate(username, password) != null;
         } catch (IOException e) {
             e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Retrieves the address of a customer based on the username.
+     *
+     * @param username the username of the customer whose address is to be retrieved.
+     * @return the address of the customer, or null if no matching user is found.
+     */
+    public static String getAddress(String username) {
+        try {
+            CustomerRecord customer = CustomerRepository.getInstance().find(username);
+            return customer != null ? customer.address() : null;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
         }
-        return false;
     }
 
     /**
@@ -105,20 +116,23 @@ public class Customer {
      * @return the full name of the customer, or "Username not found" if no matching user is found.
      */
     public static String getFullName(String username) {
-        try (FileInputStream file = new FileInputStream(EXCEL_FILE);
-             Workbook workbook = new XSSFWorkbook(file)) {
-            Sheet sheet = workbook.getSheet("Customers");
-            for (Row row : sheet) {
-                if (row.getRowNum() == 0) continue; // Skip header
-                if (username.equals(row.getCell(3).getStringCellValue())) {
-                    String firstName = row.getCell(0).getStringCellValue();
-                    String lastName = row.getCell(1).getStringCellValue();
-                    return firstName + " " + lastName; // Return the full name
-                }
+        try {
+            CustomerRecord customer = CustomerRepository.getInstance().find(username);
+            if (customer != null) {
+                return customer.fullName();
             }
         } catch (IOException e) {
             e.printStackTrace();
         }
         return "Username not found"; // Return default message if username is not found
     }
+
+    /**
+     * Holds a hash to check against when the username does not exist,
+     * so a wrong username takes as long to reject as a wrong password.
+     * It is only made the first time it is needed.
+     */
+    private static final class UnknownUser {
+        private static final String HASH = PasswordHasher.hash("");
+    }
 }
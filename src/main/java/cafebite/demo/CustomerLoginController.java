@@ -1,15 +1,12 @@
 package cafebite.demo;
 
 import javafx.fxml.FXML;
-import javafx.scene.control.*;
 import javafx.scene.Node;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
-import javafx.stage.Stage;
+import javafx.scene.control.*;
 import javafx.event.ActionEvent;
-import javafx.fxml.FXMLLoader;
 import java.io.IOException;
-import java.util.Objects;
+
+import cafebite.demo.Storage.AsyncPersistence;
 
 /**
  * Control customer log-in actions in CafeBite.
@@ -18,34 +15,52 @@ import java.util.Objects;
  * @author Emmanuel Nwokoro
  * @version 1.0
  */
-public class CustomerLoginController {
+public class CustomerLoginController implements Navigator.Shown {
     @FXML private TextField username;
     @FXML private PasswordField password;
 
+    /**
+     * Clears the login form each time the page is shown, so the last customer's details are not left on it.
+     */
+    @Override
+    public void screenShown() {
+        username.clear();
+        password.clear();
+    }
+
     /**
      * Trying to confirm user using given data.
      * If good, move to order or booking interface; else, alert for not correct login.
+     * The password is checked in the background, since hashing it takes a moment.
      *
      * @param event What happened, usually pressing a button.
-     * @throws IOException If there is a problem with moving pages.
      */
     @FXML
-    private void handleLogin(ActionEvent event) throws IOException {
-        if (Customer.validateLogin(username.getText(), password.getText())) {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("MakeOrderOrBooking.fxml"));
-            Parent root = loader.load();
-            MakeOrderOrBookingController controller = loader.getController();
-            controller.setCurrentUser(username.getText());  // Giving the username to the next controller
-
-            Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-            Scene scene = new Scene(root);
-            scene.getStylesheets().add(Objects.requireNonNull(getClass().getResource("styles.css")).toExternalForm());
-            stage.setScene(scene);
-            stage.show();
-        } else {
-            Alert alert = new Alert(Alert.AlertType.ERROR, "Username or password is not correct!");
-            alert.showAndWait();
-        }
+    private void handleLogin(ActionEvent event) {
+        String user = username.getText();
+        String pass = password.getText();
+        Node loginButton = (Node) event.getSource();
+        loginButton.setDisable(true);
+        AsyncPersistence.onFxThread(AsyncPersistence.submit(() -> Customer.authenticate(user, pass)),
+                customer -> {
+                    loginButton.setDisable(false);
+                    if (customer == null) {
+                        Alert alert = new Alert(Alert.AlertType.ERROR, "Username or password is not correct!");
+                        alert.showAndWait();
+                        return;
+                    }
+                    try {
+                        MakeOrderOrBookingController controller = Navigator.getInstance().show(Navigator.ORDER_OR_BOOKING);
+                        controller.setCurrentUser(customer.username());  // Giving the username to the next controller
+                    } catch (IOException e) {
+                        e.printStackTrace();
+                    }
+                },
+                error -> {
+                    loginButton.setDisable(false);
+                    Alert alert = new Alert(Alert.AlertType.ERROR, "Customer details could not be read. Please try again.");
+                    alert.showAndWait();
+                });
     }
 
     /**
@@ -57,11 +72,7 @@ public class CustomerLoginController {
      */
     @FXML
     private void handleSignUp(ActionEvent event) throws IOException {
-        Stage stage = (Stage)((Node)event.getSource()).getScene().getWindow();
-        Parent root = FXMLLoader.load(Objects.requireNonNull(getClass().getResource("CustomerSignUpPage.fxml")));
-        Scene scene = new Scene(root);
-        stage.setScene(scene);
-        stage.show();
+        Navigator.getInstance().show(Navigator.CUSTOMER_SIGN_UP);
     }
 
     /**
@@ -72,12 +83,6 @@ public class CustomerLoginController {
      * @throws IOException If there is a problem with moving pages.
      */
     public void handleBack(ActionEvent event) throws IOException {
-        Node node = (Node) event.getSource();
-        Stage stage = (Stage) node.getScene().getWindow();
-        Parent root = FXMLLoader.load(Objects.requireNonNull(getClass().getResource("Home.fxml")));
-        Scene scene = new Scene(root);
-        scene.getStylesheets().add(Objects.requireNonNull(getClass().getResource("styles.css")).toExternalForm());
-        stage.setScene(scene);
-        stage.show();
+        Navigator.getInstance().show(Navigator.HOME);
     }
 }
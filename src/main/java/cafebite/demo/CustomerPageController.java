@@ -1,14 +1,8 @@
 package cafebite.demo;
 
 import javafx.fxml.FXML;
-import javafx.scene.Node;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
-import javafx.stage.Stage;
-import javafx.fxml.FXMLLoader;
 import javafx.event.ActionEvent;
 import java.io.IOException;
-import java.util.Objects;
 
 /**
  * It controls all the customer pages, managing the moving around and the things the customers do.
@@ -29,19 +23,8 @@ public class CustomerPageController {
     @FXML
     public void handleBack(ActionEvent event) {
         try {
-            Node node = (Node) event.getSource();
-            Stage stage = (Stage) node.getScene().getWindow();
-            // We must get the home page thing ready
-            Parent root = FXMLLoader.load(Objects.requireNonNull(getClass().getResource("home.fxml")));
-
-            Scene scene = new Scene(root);
-            // Add the CSS for the nice looks
-            scene.getStylesheets().add(Objects.requireNonNull(getClass().getResource("styles.css")).toExternalForm());
-
-            // Put the scene in the stage, show it, make it big
-            stage.setScene(scene);
-            stage.setMaximized(true);
-            stage.show();
+            Navigator.getInstance().show(Navigator.HOME);
+            Navigator.getInstance().getStage().setMaximized(true);
         } catch (IOException e) {
             e.printStackTrace(); // If there's some problem, print it out
         }
@@ -69,14 +52,8 @@ public class CustomerPageController {
     @FXML
     public void handleMakeOrder(ActionEvent event) {
         try {
-            Node node = (Node) event.getSource();
-            Stage stage = (Stage) node.getScene().getWindow();
-            Parent root = FXMLLoader.load(Objects.requireNonNull(getClass().getResource("OrderOptions.fxml"))); // Be sure the path is correct
-            Scene scene = new Scene(root);
-            scene.getStylesheets().add(Objects.requireNonNull(getClass().getResource("styles.css")).toExternalForm());
-            stage.setScene(scene);
-            stage.setMaximized(true);
-            stage.show();
+            Navigator.getInstance().show(Navigator.ORDER_OR_BOOKING);
+            Navigator.getInstance().getStage().setMaximized(true);
         } catch (IOException e) {
             e.printStackTrace(); // If there's some problem, print it out
         }
@@ -0,0 +1,27 @@
+package cafebite.demo;
+
+/**
+ * Holds one row of the customer sheet as an immutable value.
+ *
+ * @param firstName the customer's first name
+ * @param lastName  the customer's last name
+ * @param address   the customer's address
+ * @param username  the customer's username
+ * @param passwordHash the customer's password hash from {@link PasswordHasher}, or the plain-text
+ *                     password for a customer who has not logged in since passwords were hashed
+ *
+ * @author Emmanuel Nwokoro
+ * @version 1.0
+ */
+public record CustomerRecord(String firstName, String lastName, String address,
+                             String username, String passwordHash) {
+
+    /**
+     * Gets the full name of the customer, combining first and last name.
+     *
+     * @return the full name of the customer
+     */
+    public String fullName() {
+        return firstName + " " + lastName;
+    }
+}
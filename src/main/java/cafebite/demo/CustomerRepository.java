@@ -0,0 +1,147 @@
+package cafebite.demo;
+
+import cafebite.demo.Storage.RecordCodec;
+import cafebite.demo.Storage.Repositories;
+import cafebite.demo.Storage.Repository;
+import cafebite.demo.Storage.SheetReader;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps the customers in memory so logins and lookups do not parse the Excel file.
+ * The customers are loaded once into a map keyed by username, so finding a customer
+ * takes the same time however many customers there are. Every change is written
+ * straight through to the customer store.
+ *
+ * @author Emmanuel Nwokoro
+ * @version 1.0
+ */
+public final class CustomerRepository {
+    private static final String EXCEL_FILE = "CustomerData.xlsx";
+
+    /**
+     * How a customer is laid out in the customer sheet.
+     */
+    private static final RecordCodec<CustomerRecord> CODEC = new RecordCodec<>() {
+        @Override
+        public String sheetName() {
+            return "Customers";
+        }
+
+        @Override
+        public String[] headers() {
+            return new String[] {"First Name", "Last Name", "Address", "Username", "Password Hash"};
+        }
+
+        @Override
+        public String key(CustomerRecord record) {
+            return record.username();
+        }
+
+        @Override
+        public Object[] toCells(CustomerRecord record) {
+            return new Object[] {record.firstName(), record.lastName(), record.address(),
+                    record.username(), record.passwordHash()};
+        }
+
+        @Override
+        public CustomerRecord fromCells(String[] cells) {
+            return new CustomerRecord(SheetReader.cell(cells, 0), SheetReader.cell(cells, 1),
+                    SheetReader.cell(cells, 2), SheetReader.cell(cells, 3), SheetReader.cell(cells, 4));
+        }
+    };
+
+    private static CustomerRepository instance;
+
+    private final Repository<CustomerRecord> store;
+    private Map<String, CustomerRecord> customersByUsername;
+
+    private CustomerRepository(Repository<CustomerRecord> store) {
+        this.store = store;
+    }
+
+    /**
+     * Gets the shared repository for the customer Excel file.
+     *
+     * @return the customer repository
+     */
+    public static synchronized CustomerRepository getInstance() {
+        if (instance == null) {
+            instance = new CustomerRepository(Repositories.open(EXCEL_FILE, CODEC));
+        }
+        return instance;
+    }
+
+    /**
+     * Loads the customers now, rather than on the first lookup.
+     *
+     * @throws IOException if the customer store cannot be read
+     */
+    public synchronized void load() throws IOException {
+        index();
+    }
+
+    /**
+     * Finds a customer by their username.
+     *
+     * @param username the username of the customer
+     * @return the customer record, or null if not found
+     * @throws IOException if the customer store cannot be read
+     */
+    public synchronized CustomerRecord find(String username) throws IOException {
+        return username == null ? null : index().get(username);
+    }
+
+    /**
+     * Adds a new customer, unless the username is already in use.
+     * The check and the write happen under the same lock, so two sign-ups with the
+     * same username cannot both get in.
+     *
+     * @param record the customer to add
+     * @return true if the customer was added, false if the username is already in use
+     * @throws IOException if the customer store cannot be read or written
+     */
+    public synchronized boolean insert(CustomerRecord record) throws IOException {
+        Map<String, CustomerRecord> customers = index();
+        if (customers.containsKey(record.username())) {
+            return false;
+        }
+        store.insert(record);
+        customers.put(record.username(), record);
+        return true;
+    }
+
+    /**
+     * Replaces the details of an existing customer with the same username.
+     *
+     * @param record the new details
+     * @return true if the customer was found and updated
+     * @throws IOException if the customer store cannot be read or written
+     */
+    public synchronized boolean update(CustomerRecord record) throws IOException {
+        Map<String, CustomerRecord> customers = index();
+        if (!customers.containsKey(record.username()) || !store.update(record.username(), record)) {
+            return false;
+        }
+        customers.put(record.username(), record);
+        return true;
+    }
+
+    /**
+     * Gets the cached map of customers, loading the store the first time.
+     * The map is only kept once the whole store has been read, so a failed read is tried again next time.
+     *
+     * @return the customer records keyed by username
+     * @throws IOException if the customer store cannot be read
+     */
+    private Map<String, CustomerRecord> index() throws IOException {
+        if (customersByUsername == null) {
+            Map<String, CustomerRecord> customers = new HashMap<>();
+            store.forEach(record -> customers.put(record.username(), record));
+            customersByUsername = customers;
+        }
+        return customersByUsername;
+    }
+}
@@ -1,15 +1,12 @@
 package cafebite.demo;
 
 import javafx.fxml.FXML;
-import javafx.scene.control.*;
 import javafx.scene.Node;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
-import javafx.stage.Stage;
+import javafx.scene.control.*;
 import javafx.event.ActionEvent;
-import javafx.fxml.FXMLLoader;
 import java.io.IOException;
-import java.util.Objects;
+
+import cafebite.demo.Storage.AsyncPersistence;
 
 /**
  * This class manages the page for new customers to sign up in the CafeBite app.
@@ -27,29 +24,46 @@ public class CustomerSignUpController {
      * It tries to register a new customer using the input from the sign-up form.
      * If registration is successful, the user is directed to the login page.
      * If registration fails, an error message is displayed.
+     * The password is hashed and the customer saved in the background,
+     * and the sign-up button stays disabled until that is done.
      *
      * @param event The action event triggered by clicking the sign-up button.
-     * @throws IOException If there is an error while navigating pages.
      */
     @FXML
-    private void handleSignUp(ActionEvent event) throws IOException {
-        boolean success = Customer.saveCustomer(firstName.getText(), lastName.getText(),
-                address.getText(), username.getText(), password.getText());
-        if (success) {
-            Alert alert = new Alert(Alert.AlertType.INFORMATION, "Registration successful!");
-            alert.showAndWait().ifPresent(response -> {
-                if (response == ButtonType.OK) {
-                    try {
-                        transitionToLogin(event);
-                    } catch (IOException e) {
-                        e.printStackTrace();
+    private void handleSignUp(ActionEvent event) {
+        String first = firstName.getText();
+        String last = lastName.getText();
+        String home = address.getText();
+        String user = username.getText();
+        String pass = password.getText();
+        Node signUpButton = (Node) event.getSource();
+        signUpButton.setDisable(true);
+        AsyncPersistence.onFxThread(AsyncPersistence.submit(() -> Customer.saveCustomer(first, last, home, user, pass)),
+                result -> {
+                    signUpButton.setDisable(false);
+                    if (result == Registration.SAVED) {
+                        Alert alert = new Alert(Alert.AlertType.INFORMATION, "Registration successful!");
+                        alert.showAndWait().ifPresent(response -> {
+                            if (response == ButtonType.OK) {
+                                try {
+                                    transitionToLogin(event);
+                                } catch (IOException e) {
+                                    e.printStackTrace();
+                                }
+                            }
+                        });
+                    } else if (result == Registration.DUPLICATE) {
+                        Alert alert = new Alert(Alert.AlertType.ERROR, "That username is already taken. Please choose another.");
+                        alert.showAndWait();
+                    } else {
+                        Alert alert = new Alert(Alert.AlertType.ERROR, "Failed to register. Please try again.");
+                        alert.showAndWait();
                     }
-                }
-            });
-        } else {
-            Alert alert = new Alert(Alert.AlertType.ERROR, "Failed to register. Please try again.");
-            alert.showAndWait();
-        }
+                },
+                error -> {
+                    signUpButton.setDisable(false);
+                    new Alert(Alert.AlertType.ERROR, "Failed to register. Please try again.").showAndWait();
+                });
     }
 
     /**
@@ -72,11 +86,6 @@ public class CustomerSignUpController {
      * @throws IOException If there is an error loading the FXML file for the login page.
      */
     private void transitionToLogin(ActionEvent event) throws IOException {
-        Stage stage = (Stage)((Node)event.getSource()).getScene().getWindow();
-        Parent root = FXMLLoader.load(Objects.requireNonNull(getClass().getResource("CustomerLoginPage.fxml")));
-        // Ensure this matches the correct file name and path
-        Scene scene = new Scene(root);
-        stage.setScene(scene);
-        stage.show();
+        Navigator.getInstance().show(Navigator.CUSTOMER_LOGIN);
     }
 }
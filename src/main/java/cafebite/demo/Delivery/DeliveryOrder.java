@@ -0,0 +1,81 @@
+package cafebite.demo.Delivery;
+
+import java.time.LocalTime;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One delivery drop: whose order it is, where it goes, and when the kitchen finished it.
+ *
+ * @param orderId      the unique ID of the order
+ * @param customerName the full name of the customer
+ * @param address      the delivery address, as the customer entered it
+ * @param readyAt      when the kitchen marked the order ready, or null if it is still cooking
+ *
+ * @author Aquib Afzal
+ * @version 1.0
+ */
+public record DeliveryOrder(String orderId, String customerName, String address, LocalTime readyAt) {
+    /**
+     * The postcode district used for addresses without a recognisable postcode.
+     */
+    public static final String UNKNOWN_DISTRICT = "UNKNOWN";
+
+    private static final Pattern FULL_POSTCODE = Pattern.compile(
+            "\\b([A-Z]{1,2}[0-9][A-Z0-9]?)\\s*[0-9][A-Z]{2}\\b");
+    private static final Pattern DISTRICT_ONLY = Pattern.compile("\\b([A-Z]{1,2}[0-9][A-Z0-9]?)\\b");
+
+    /**
+     * Makes a copy of this drop that is ready to go out.
+     *
+     * @param time when the kitchen marked the order ready
+     * @return the ready drop
+     */
+    public DeliveryOrder readyAt(LocalTime time) {
+        return new DeliveryOrder(orderId, customerName, address, time);
+    }
+
+    /**
+     * Gets the postcode district of the address, such as "SA1" for "SA1 8PP".
+     * Drops in the same district are close enough to share a run.
+     *
+     * @return the postcode district, or {@link #UNKNOWN_DISTRICT}
+     */
+    public String district() {
+        if (address == null) {
+            return UNKNOWN_DISTRICT;
+        }
+        String upper = address.toUpperCase(Locale.UK);
+        Matcher full = FULL_POSTCODE.matcher(upper);
+        String district = null;
+        while (full.find()) {
+            district = full.group(1); // The postcode is usually the last part of the address
+        }
+        if (district == null) {
+            Matcher partial = DISTRICT_ONLY.matcher(upper);
+            while (partial.find()) {
+                district = partial.group(1);
+            }
+        }
+        return district == null ? UNKNOWN_DISTRICT : district;
+    }
+
+    /**
+     * Gets the postcode area of the address, the letters of its district, such as "SA".
+     * Neighbouring districts share an area, so they are used to fill up a run.
+     *
+     * @return the postcode area, or {@link #UNKNOWN_DISTRICT}
+     */
+    public String area() {
+        String district = district();
+        if (district.equals(UNKNOWN_DISTRICT)) {
+            return district;
+        }
+        int digit = 0;
+        while (digit < district.length() && Character.isLetter(district.charAt(digit))) {
+            digit++;
+        }
+        return district.substring(0, digit);
+    }
+}
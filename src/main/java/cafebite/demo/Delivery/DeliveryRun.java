@@ -0,0 +1,30 @@
+package cafebite.demo.Delivery;
+
+import java.util.List;
+
+/**
+ * A batch of delivery drops that one driver takes out together.
+ *
+ * @param runId      the number of the run, counting up from 1
+ * @param district   the postcode district most of the drops are in
+ * @param drops      the drops, oldest first
+ * @param driverId   the Staff ID of the driver who took the run, or null if nobody has yet
+ * @param driverName the full name of that driver, for display, or null if nobody has taken it yet
+ *
+ * @author Aquib Afzal
+ * @version 1.0
+ */
+public record DeliveryRun(int runId, String district, List<DeliveryOrder> drops, String driverId,
+                          String driverName) {
+
+    /**
+     * Makes a copy of this run taken by a driver.
+     *
+     * @param driverId   the Staff ID of the driver
+     * @param driverName the full name of the driver
+     * @return the assigned run
+     */
+    public DeliveryRun assignTo(String driverId, String driverName) {
+        return new DeliveryRun(runId, district, drops, driverId, driverName);
+    }
+}
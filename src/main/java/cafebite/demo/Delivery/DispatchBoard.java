@@ -0,0 +1,328 @@
+package cafebite.demo.Delivery;
+
+import cafebite.demo.Kitchen.KitchenQueue;
+import cafebite.demo.Kitchen.KitchenTicket;
+import cafebite.demo.Kitchen.TicketStatus;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects delivery orders and batches them into runs for the drivers.
+ * <p>
+ * A delivery order is expected at checkout and becomes a drop when the kitchen marks it ready.
+ * Drops are grouped by postcode district, so no network or map lookups are needed.
+ * A run is formed as soon as a district has {@code cafebite.dispatch.maxDrops} drops (4 by default).
+ * It is also formed when the oldest drop in a district has waited {@code cafebite.dispatch.maxWaitMinutes}
+ * (10 by default); that run is topped up with drops from neighbouring districts in the same
+ * postcode area. A driver who asks for a run when none is formed gets the oldest drops straight away.
+ * Drivers are told apart by their Staff ID, so two drivers with the same name each get their own run.
+ * Listeners are told whenever the board changes, on the thread that changed it.
+ *
+ * @author Aquib Afzal
+ * @version 1.0
+ */
+public final class DispatchBoard {
+    private static final int MAX_DROPS = Math.max(1, Integer.getInteger("cafebite.dispatch.maxDrops", 4));
+    private static final Duration MAX_WAIT = Duration.ofMinutes(Long.getLong("cafebite.dispatch.maxWaitMinutes", 10));
+    private static final DispatchBoard INSTANCE = new DispatchBoard();
+
+    private final Map<String, DeliveryOrder> cooking = new LinkedHashMap<>();
+    private final List<DeliveryOrder> waiting = new ArrayList<>();
+    private final List<DeliveryRun> queuedRuns = new ArrayList<>();
+    private final Map<String, DeliveryRun> activeRuns = new LinkedHashMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private int nextRunId = 1;
+    private ScheduledExecutorService timer;
+
+    private DispatchBoard() {
+    }
+
+    /**
+     * Gets the dispatch board shared by the whole app.
+     *
+     * @return the dispatch board
+     */
+    public static DispatchBoard getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Starts following the kitchen, so drops are added when their orders are ready,
+     * and checks once a minute for drops that have waited too long.
+     * Calling it again while it is running does nothing.
+     */
+    public synchronized void start() {
+        if (timer != null) {
+            return;
+        }
+        KitchenQueue.getInstance().subscribe(new KitchenQueue.Listener() {
+            @Override
+            public void ticketUpdated(KitchenTicket ticket) {
+                if (ticket.status() == TicketStatus.READY) {
+                    markReady(ticket.orderId(), LocalTime.now());
+                }
+            }
+
+            @Override
+            public void ticketCleared(KitchenTicket ticket) {
+            }
+        });
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dispatch-board");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleWithFixedDelay(() -> {
+            boolean changed;
+            synchronized (this) {
+                changed = formRuns(LocalTime.now());
+            }
+            if (changed) {
+                notifyListeners();
+            }
+        }, 1, 1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Records a delivery order that has just been checked out, so it can be dispatched once it is cooked.
+     *
+     * @param order the delivery order
+     */
+    public void expect(DeliveryOrder order) {
+        synchronized (this) {
+            cooking.put(order.orderId(), order);
+        }
+        notifyListeners();
+    }
+
+    /**
+     * Turns an expected delivery order into a drop that is waiting for a driver.
+     * Orders that are not deliveries are ignored.
+     *
+     * @param orderId the ID of the order
+     * @param time    when the order was ready
+     */
+    public void markReady(String orderId, LocalTime time) {
+        synchronized (this) {
+            DeliveryOrder order = cooking.remove(orderId);
+            if (order == null) {
+                return;
+            }
+            waiting.add(order.readyAt(time));
+            formRuns(time);
+        }
+        notifyListeners();
+    }
+
+    /**
+     * Gives a driver the next run. If no run is formed yet, one is made from the oldest drops.
+     *
+     * @param driverId   the Staff ID of the driver
+     * @param driverName the full name of the driver, shown on the run
+     * @return the driver's run, or null if there are no drops waiting
+     */
+    public DeliveryRun takeNextRun(String driverId, String driverName) {
+        DeliveryRun run;
+        synchronized (this) {
+            run = activeRuns.get(driverId);
+            if (run != null) {
+                return run;
+            }
+            if (queuedRuns.isEmpty() && !waiting.isEmpty()) {
+                queuedRuns.add(makeRun(waiting.get(0).district()));
+            }
+            if (queuedRuns.isEmpty()) {
+                return null;
+            }
+            run = queuedRuns.remove(0).assignTo(driverId, driverName);
+            activeRuns.put(driverId, run);
+        }
+        notifyListeners();
+        return run;
+    }
+
+    /**
+     * Marks a driver's run as delivered.
+     *
+     * @param driverId the Staff ID of the driver
+     * @return true if the driver had a run
+     */
+    public boolean completeRun(String driverId) {
+        boolean completed;
+        synchronized (this) {
+            completed = activeRuns.remove(driverId) != null;
+        }
+        if (completed) {
+            notifyListeners();
+        }
+        return completed;
+    }
+
+    /**
+     * Gets the run a driver is out on.
+     *
+     * @param driverId the Staff ID of the driver
+     * @return the run, or null if the driver has none
+     */
+    public synchronized DeliveryRun getActiveRun(String driverId) {
+        return activeRuns.get(driverId);
+    }
+
+    /**
+     * Gets the runs that are formed and waiting for a driver, oldest first.
+     *
+     * @return the queued runs
+     */
+    public synchronized List<DeliveryRun> getQueuedRuns() {
+        return List.copyOf(queuedRuns);
+    }
+
+    /**
+     * Gets the drops that are ready but not yet part of a run.
+     *
+     * @return the waiting drops, oldest first
+     */
+    public synchronized List<DeliveryOrder> getWaitingDrops() {
+        return List.copyOf(waiting);
+    }
+
+    /**
+     * Gets how many delivery orders are still being cooked.
+     *
+     * @return the number of orders in the kitchen
+     */
+    public synchronized int getCookingCount() {
+        return cooking.size();
+    }
+
+    /**
+     * Starts telling a listener whenever the board changes.
+     *
+     * @param listener the listener to add
+     */
+    public void subscribe(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Stops telling a listener about changes.
+     *
+     * @param listener the listener to remove
+     */
+    public void unsubscribe(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Forms runs from districts that have a full run of drops, or whose oldest drop has waited too long.
+     *
+     * @param now the current time
+     * @return true if any run was formed
+     */
+    private boolean formRuns(LocalTime now) {
+        boolean formed = false;
+        Set<String> districts = new LinkedHashSet<>();
+        for (DeliveryOrder drop : waiting) {
+            districts.add(drop.district());
+        }
+        // Counted again each time, as topping up a run takes drops from other districts
+        for (String district : districts) {
+            while (countIn(district) >= MAX_DROPS) {
+                queuedRuns.add(makeRun(district));
+                formed = true;
+            }
+            DeliveryOrder oldest = firstIn(district);
+            if (oldest != null && waited(oldest, now).compareTo(MAX_WAIT) >= 0) {
+                queuedRuns.add(makeRun(district));
+                formed = true;
+            }
+        }
+        return formed;
+    }
+
+    /**
+     * Makes a run from the oldest drops in a district, topped up from the same postcode area.
+     * The drops are taken off the waiting list.
+     *
+     * @param district the postcode district
+     * @return the new run
+     */
+    private DeliveryRun makeRun(String district) {
+        List<DeliveryOrder> drops = new ArrayList<>(MAX_DROPS);
+        String area = null;
+        for (Iterator<DeliveryOrder> it = waiting.iterator(); it.hasNext() && drops.size() < MAX_DROPS; ) {
+            DeliveryOrder drop = it.next();
+            if (drop.district().equals(district)) {
+                area = drop.area();
+                drops.add(drop);
+                it.remove();
+            }
+        }
+        if (area != null && !area.equals(DeliveryOrder.UNKNOWN_DISTRICT)) {
+            for (Iterator<DeliveryOrder> it = waiting.iterator(); it.hasNext() && drops.size() < MAX_DROPS; ) {
+                DeliveryOrder drop = it.next();
+                if (drop.area().equals(area)) {
+                    drops.add(drop);
+                    it.remove();
+                }
+            }
+        }
+        return new DeliveryRun(nextRunId++, district, List.copyOf(drops), null, null);
+    }
+
+    private int countIn(String district) {
+        int count = 0;
+        for (DeliveryOrder drop : waiting) {
+            if (drop.district().equals(district)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private DeliveryOrder firstIn(String district) {
+        for (DeliveryOrder drop : waiting) {
+            if (drop.district().equals(district)) {
+                return drop;
+            }
+        }
+        return null;
+    }
+
+    private static Duration waited(DeliveryOrder drop, LocalTime now) {
+        if (drop == null) {
+            return Duration.ZERO;
+        }
+        Duration waited = Duration.between(drop.readyAt(), now);
+        return waited.isNegative() ? waited.plusDays(1) : waited; // Ready before midnight
+    }
+
+    private void notifyListeners() {
+        for (Listener listener : listeners) {
+            listener.boardChanged();
+        }
+    }
+
+    /**
+     * Receives dispatch board changes.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        /**
+         * Called when orders, drops or runs change.
+         */
+        void boardChanged();
+    }
+}
@@ -1,24 +1,117 @@
 package cafebite.demo;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
-import javafx.scene.Node;
-import javafx.stage.Stage;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
 import javafx.event.ActionEvent;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import java.io.IOException;
-import java.util.Objects;
+
+import cafebite.demo.Delivery.DeliveryOrder;
+import cafebite.demo.Delivery.DeliveryRun;
+import cafebite.demo.Delivery.DispatchBoard;
 
 /**
  * Controls the delivery driver interface.
- * This class helps with navigation back to the staff login screen.
+ * This class shows the driver their delivery run from the {@link DispatchBoard},
+ * updating as soon as the board changes, and helps with navigation back to the staff login screen.
  *
  * @author Emmanuel Nwokoro
  * @version 1.0
  */
 public class DeliveryDriverController {
 
+    @FXML
+    private Label staffNameLabel;
+    @FXML
+    private Label boardSummaryLabel;
+    @FXML
+    private Label runTitleLabel;
+    @FXML
+    private ListView<String> runDropsList;
+    @FXML
+    private Button takeRunButton;
+    @FXML
+    private Button completeRunButton;
+
+    private String driverId = "";
+    private String driverName = "Driver";
+    private final DispatchBoard.Listener boardListener = () -> Platform.runLater(this::refreshRun);
+
+    /**
+     * Shows who is signed in, using the session started at login,
+     * and starts following the dispatch board.
+     */
+    @FXML
+    public void initialize() {
+        StaffPrincipal principal = StaffSession.getCurrent();
+        if (principal != null) {
+            driverId = principal.staffId();
+            driverName = principal.fullName();
+        }
+        if (staffNameLabel != null && principal != null) {
+            staffNameLabel.setText("Signed in as " + principal.fullName());
+        }
+        if (runDropsList != null) {
+            DispatchBoard.getInstance().subscribe(boardListener);
+            refreshRun();
+        }
+    }
+
+    /**
+     * Takes the next delivery run from the dispatch board.
+     *
+     * @param event the event that triggers this method, usually a button click.
+     */
+    @FXML
+    private void handleTakeRun(ActionEvent event) {
+        DispatchBoard.getInstance().takeNextRun(driverId, driverName);
+        refreshRun();
+    }
+
+    /**
+     * Marks the driver's current run as delivered.
+     *
+     * @param event the event that triggers this method, usually a button click.
+     */
+    @FXML
+    private void handleCompleteRun(ActionEvent event) {
+        DispatchBoard.getInstance().completeRun(driverId);
+        refreshRun();
+    }
+
+    /**
+     * Shows the driver's current run and how much is waiting on the board.
+     */
+    private void refreshRun() {
+        DispatchBoard board = DispatchBoard.getInstance();
+        boardSummaryLabel.setText(board.getQueuedRuns().size() + " runs queued, "
+                + board.getWaitingDrops().size() + " drops waiting, "
+                + board.getCookingCount() + " in the kitchen");
+        DeliveryRun run = board.getActiveRun(driverId);
+        if (run == null) {
+            runTitleLabel.setText("No run assigned");
+            runDropsList.getItems().clear();
+        } else {
+            runTitleLabel.setText("Run " + run.runId() + " - " + run.district() + " - "
+                    + run.drops().size() + " drops");
+            runDropsList.getItems().setAll(run.drops().stream().map(DeliveryDriverController::describe).toList());
+        }
+        takeRunButton.setDisable(run != null);
+        completeRunButton.setDisable(run == null);
+    }
+
+    /**
+     * Describes one drop for the run list.
+     *
+     * @param drop the drop
+     * @return the customer, address and when the order was ready
+     */
+    private static String describe(DeliveryOrder drop) {
+        return drop.customerName() + " - " + drop.address() + " (ready " + drop.readyAt().withNano(0) + ")";
+    }
+
     /**
      * Handles the action to go back to the staff login screen.
      * This method loads the StaffLogin.fxml scene and shows it on the current stage.
@@ -28,12 +121,8 @@ public class DeliveryDriverController {
      */
     @FXML
     public void handleBack(ActionEvent event) throws IOException {
-        Node node = (Node) event.getSource();
-        Stage stage = (Stage) node.getScene().getWindow();
-        Parent root = FXMLLoader.load(Objects.requireNonNull(getClass().getResource("StaffLoginPage.fxml")));
-        Scene scene = new Scene(root);
-        scene.getStylesheets().add(Objects.requireNonNull(getClass().getResource("styles.css")).toExternalForm());
-        stage.setScene(scene);
-        stage.show();
+        DispatchBoard.getInstance().unsubscribe(boardListener);
+        StaffSession.end();
+        Navigator.getInstance().show(Navigator.STAFF_LOGIN);
     }
 }
\ No newline at end of file
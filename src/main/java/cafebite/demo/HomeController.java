@@ -2,13 +2,7 @@ package cafebite.demo;
 
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.scene.Node;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
-import javafx.stage.Stage;
-import javafx.fxml.FXMLLoader;
 import java.io.IOException;
-import java.util.Objects;
 
 /**
  * The HomeController class manages moving from the home screen to the login screens for customers or staff.
@@ -27,12 +21,7 @@ public class HomeController {
      */
     @FXML
     private void handleCustomer(ActionEvent event) throws IOException {
-        Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-        Parent root = FXMLLoader.load(Objects.requireNonNull(getClass().getResource("CustomerLogInPage.fxml")));
-        Scene scene = new Scene(root);
-        scene.getStylesheets().add(Objects.requireNonNull(getClass().getResource("styles.css")).toExternalForm());
-        stage.setScene(scene);
-        stage.show();
+        Navigator.getInstance().show(Navigator.CUSTOMER_LOGIN);
     }
 
     /**
@@ -44,11 +33,6 @@ public class HomeController {
      */
     @FXML
     private void handleStaff(ActionEvent event) throws IOException {
-        Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-        Parent root = FXMLLoader.load(Objects.requireNonNull(getClass().getResource("StaffLoginPage.fxml")));
-        Scene scene = new Scene(root);
-        scene.getStylesheets().add(Objects.requireNonNull(getClass().getResource("styles.css")).toExternalForm());
-        stage.setScene(scene);
-        stage.show();
+        Navigator.getInstance().show(Navigator.STAFF_LOGIN);
     }
 }
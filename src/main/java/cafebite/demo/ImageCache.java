@@ -0,0 +1,134 @@
+package cafebite.demo;
+
+import javafx.scene.image.Image;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Keeps the menu photos as small thumbnails so menu tiles do not decode full-size images.
+ * Each photo is decoded once at the size it is shown and kept in a least-recently-used cache.
+ * The cache holds at most {@code cafebite.images.max} thumbnails (64 by default).
+ * {@link #warm(Collection)} decodes photos on background threads before they are needed.
+ *
+ * @author Emmanuel Nwokoro
+ * @version 1.0
+ */
+public final class ImageCache {
+    /**
+     * The width and height, in pixels, that menu photos are shown at.
+     */
+    public static final double THUMBNAIL_SIZE = 100;
+
+    private static final String IMAGES_DIR = Paths.get(System.getProperty("user.dir"),
+            "src/main/resources/cafebite/demo/IMAGES").toString();
+    private static final int MAX_IMAGES = Integer.getInteger("cafebite.images.max", 64);
+
+    private static ImageCache instance;
+
+    private final Map<String, Image> thumbnails;
+    private final ExecutorService loader;
+
+    private ImageCache(int maxImages) {
+        this.thumbnails = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Image> eldest) {
+                return size() > maxImages;
+            }
+        };
+        int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+        this.loader = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "image-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Gets the shared image cache.
+     *
+     * @return the image cache
+     */
+    public static synchronized ImageCache getInstance() {
+        if (instance == null) {
+            instance = new ImageCache(MAX_IMAGES);
+        }
+        return instance;
+    }
+
+    /**
+     * Gets the thumbnail of a menu photo.
+     * If it is not cached yet it starts loading in the background and is cached straight away,
+     * so the tile shows it as soon as it is decoded.
+     * A photo that fails to load is dropped from the cache, so the next call tries the file again.
+     *
+     * @param imagePath the file name of the photo in the IMAGES folder
+     * @return the thumbnail image
+     */
+    public Image thumbnail(String imagePath) {
+        synchronized (thumbnails) {
+            Image image = thumbnails.get(imagePath);
+            if (image == null || image.isError()) {
+                Image loading = decode(imagePath, true);
+                loading.errorProperty().addListener((observable, wasError, isError) -> {
+                    if (isError) {
+                        synchronized (thumbnails) {
+                            thumbnails.remove(imagePath, loading);
+                        }
+                    }
+                });
+                thumbnails.put(imagePath, loading);
+                image = loading;
+            }
+            return image;
+        }
+    }
+
+    /**
+     * Decodes the given photos on background threads and caches them.
+     * Photos that are already cached are skipped.
+     *
+     * @param imagePaths the file names of the photos in the IMAGES folder
+     * @return a future that completes when every photo has been decoded or has failed
+     */
+    public CompletableFuture<Void> warm(Collection<String> imagePaths) {
+        List<CompletableFuture<Void>> loads = new ArrayList<>(imagePaths.size());
+        for (String imagePath : imagePaths) {
+            loads.add(CompletableFuture.runAsync(() -> {
+                synchronized (thumbnails) {
+                    if (thumbnails.containsKey(imagePath)) {
+                        return;
+                    }
+                }
+                Image image = decode(imagePath, false);
+                if (image.isError()) {
+                    image.getException().printStackTrace();
+                    return;
+                }
+                synchronized (thumbnails) {
+                    thumbnails.putIfAbsent(imagePath, image);
+                }
+            }, loader));
+        }
+        return CompletableFuture.allOf(loads.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * Loads a photo scaled down to the thumbnail size, keeping its proportions.
+     *
+     * @param imagePath  the file name of the photo in the IMAGES folder
+     * @param background true to return at once and decode in the background
+     * @return the scaled image
+     */
+    private static Image decode(String imagePath, boolean background) {
+        String url = Paths.get(IMAGES_DIR, imagePath).toUri().toString();
+        return new Image(url, THUMBNAIL_SIZE, THUMBNAIL_SIZE, true, true, background);
+    }
+}
@@ -0,0 +1,144 @@
+package cafebite.demo.Kitchen;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Passes checked-out orders straight to the kitchen screens, inside the app.
+ * The till publishes a {@link KitchenTicket} and every subscribed screen is told at once,
+ * so the kitchen does not have to wait for anyone to re-read the orders file.
+ * <p>
+ * Tickets are kept in a concurrent map and listeners in a copy-on-write list, so publishing
+ * never blocks on a lock. Listeners are called on the thread that made the change; screens
+ * must move the update onto the JavaFX Application Thread themselves.
+ *
+ * @author Aquib Afzal
+ * @version 1.0
+ */
+public final class KitchenQueue {
+    private static final KitchenQueue INSTANCE = new KitchenQueue();
+
+    private final ConcurrentHashMap<String, Entry> tickets = new ConcurrentHashMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private KitchenQueue() {
+    }
+
+    /**
+     * Gets the kitchen queue shared by the whole app.
+     *
+     * @return the kitchen queue
+     */
+    public static KitchenQueue getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Sends a new ticket to the kitchen.
+     * Publishing the same order twice keeps the first ticket.
+     *
+     * @param ticket the ticket to send
+     */
+    public void publish(KitchenTicket ticket) {
+        Entry entry = new Entry(sequence.incrementAndGet(), ticket);
+        if (tickets.putIfAbsent(ticket.orderId(), entry) == null) {
+            notifyUpdated(ticket);
+        }
+    }
+
+    /**
+     * Moves a ticket on to its next stage. A ticket that is ready is cleared from the queue.
+     *
+     * @param orderId the ID of the order on the ticket
+     * @return the moved ticket, or null if it was cleared or is not in the queue
+     */
+    public KitchenTicket advance(String orderId) {
+        Entry[] changed = new Entry[2];
+        tickets.computeIfPresent(orderId, (id, entry) -> {
+            changed[0] = entry;
+            TicketStatus next = entry.ticket().status().next();
+            changed[1] = next == null ? null : new Entry(entry.sequence(), entry.ticket().withStatus(next));
+            return changed[1];
+        });
+        if (changed[0] == null) {
+            return null;
+        }
+        if (changed[1] == null) {
+            for (Listener listener : listeners) {
+                listener.ticketCleared(changed[0].ticket());
+            }
+            return null;
+        }
+        notifyUpdated(changed[1].ticket());
+        return changed[1].ticket();
+    }
+
+    /**
+     * Gets the tickets still in the kitchen, oldest first.
+     *
+     * @return the open tickets
+     */
+    public List<KitchenTicket> openTickets() {
+        List<Entry> entries = new ArrayList<>(tickets.values());
+        entries.sort(Comparator.comparingLong(Entry::sequence));
+        List<KitchenTicket> open = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            open.add(entry.ticket());
+        }
+        return open;
+    }
+
+    /**
+     * Starts telling a listener about new and changed tickets.
+     *
+     * @param listener the listener to add
+     */
+    public void subscribe(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Stops telling a listener about tickets.
+     *
+     * @param listener the listener to remove
+     */
+    public void unsubscribe(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    private void notifyUpdated(KitchenTicket ticket) {
+        for (Listener listener : listeners) {
+            listener.ticketUpdated(ticket);
+        }
+    }
+
+    /**
+     * A ticket together with the order it arrived in.
+     */
+    private record Entry(long sequence, KitchenTicket ticket) {
+    }
+
+    /**
+     * Receives kitchen ticket changes.
+     */
+    public interface Listener {
+        /**
+         * Called when a ticket arrives or moves to a new stage.
+         *
+         * @param ticket the new or changed ticket
+         */
+        void ticketUpdated(KitchenTicket ticket);
+
+        /**
+         * Called when a finished ticket is cleared from the kitchen.
+         *
+         * @param ticket the cleared ticket
+         */
+        void ticketCleared(KitchenTicket ticket);
+    }
+}
@@ -0,0 +1,52 @@
+package cafebite.demo.Kitchen;
+
+import cafebite.demo.Order.OrderLineRecord;
+import cafebite.demo.Order.OrderRecord;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One order as the kitchen sees it: what to cook, for whom, and how far along it is.
+ * Tickets are immutable; moving a ticket on makes a copy with the new status.
+ *
+ * @param orderId      the unique ID of the order
+ * @param orderType    the type of the order, such as Eat In or Delivery
+ * @param customerName the full name of the customer
+ * @param lines        the dishes to cook, such as "Welsh Rarebit x2"
+ * @param receivedAt   when the kitchen received the order
+ * @param status       how far along the order is
+ *
+ * @author Aquib Afzal
+ * @version 1.0
+ */
+public record KitchenTicket(String orderId, String orderType, String customerName, List<String> lines,
+                            LocalTime receivedAt, TicketStatus status) {
+
+    /**
+     * Makes a new ticket for an order that has just been checked out.
+     *
+     * @param order the order
+     * @param lines the lines of the order
+     * @return a ticket in the received stage
+     */
+    public static KitchenTicket of(OrderRecord order, List<OrderLineRecord> lines) {
+        List<String> dishes = new ArrayList<>(lines.size());
+        for (OrderLineRecord line : lines) {
+            dishes.add(line.itemName() + " x" + line.quantity());
+        }
+        return new KitchenTicket(order.orderId(), order.orderType(), order.customerName(), List.copyOf(dishes),
+                LocalTime.now(), TicketStatus.RECEIVED);
+    }
+
+    /**
+     * Makes a copy of this ticket in a different stage.
+     *
+     * @param newStatus the new stage
+     * @return the moved ticket
+     */
+    public KitchenTicket withStatus(TicketStatus newStatus) {
+        return new KitchenTicket(orderId, orderType, customerName, lines, receivedAt, newStatus);
+    }
+}
@@ -0,0 +1,48 @@
+package cafebite.demo.Kitchen;
+
+/**
+ * The stages a kitchen ticket goes through, from the till to the pass.
+ *
+ * @author Aquib Afzal
+ * @version 1.0
+ */
+public enum TicketStatus {
+    /**
+     * The order has been paid for and is waiting for the kitchen.
+     */
+    RECEIVED("Start Cooking"),
+
+    /**
+     * The kitchen is cooking the order.
+     */
+    COOKING("Mark Ready"),
+
+    /**
+     * The order is ready to be served or collected.
+     */
+    READY("Clear");
+
+    private final String action;
+
+    TicketStatus(String action) {
+        this.action = action;
+    }
+
+    /**
+     * Gets the label of the button that moves a ticket on from this stage.
+     *
+     * @return the button label
+     */
+    public String action() {
+        return action;
+    }
+
+    /**
+     * Gets the stage that follows this one.
+     *
+     * @return the next stage, or null if the ticket is finished
+     */
+    public TicketStatus next() {
+        return this == READY ? null : values()[ordinal() + 1];
+    }
+}
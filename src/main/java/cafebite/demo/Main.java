@@ -1,11 +1,16 @@
 package cafebite.demo;
 
 import javafx.application.Application;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.stage.Stage;
-import java.util.Objects;
+
+import java.io.IOException;
+import java.util.List;
+
+import cafebite.demo.Booking.BookingModel;
+import cafebite.demo.Delivery.DispatchBoard;
+import cafebite.demo.Storage.AsyncPersistence;
+import cafebite.demo.Storage.JournalCompactor;
+import cafebite.demo.Storage.Repositories;
 
 /**
  * This class sets up the main stage of the application and loads the initial screen.
@@ -16,27 +21,109 @@ import java.util.Objects;
  */
 public class Main extends Application {
 
+    /**
+     * The system property that picks how the application starts: "lazy" (the default) shows the
+     * home screen first and warms everything else in the background, "eager" warms everything first.
+     */
+    public static final String STARTUP_PROPERTY = "cafebite.startup";
+
     /**
      * Starts the main window of the application, loads the first screen, and applies style.
+     * Unless eager start-up is picked, the stores, the menu, the menu photos and the screens people
+     * open most are warmed on a background thread after the home screen is shown.
+     * A timing report is printed once start-up has finished.
      * @param primaryStage The main window of the application where everything is shown.
      * @throws Exception If there is a problem loading the files needed for the start screen or style.
      */
     @Override
     public void start(Stage primaryStage) throws Exception {
-        // Load the initial FXML for the home scene
-        Parent root = FXMLLoader.load(Objects.requireNonNull(getClass().getResource("home.fxml")));
+        StartupProfiler profiler = StartupProfiler.getInstance();
+        boolean eager = "eager".equalsIgnoreCase(System.getProperty(STARTUP_PROPERTY, "lazy"));
+        if (eager) {
+            warmData(profiler);
+            profiler.time("Screens", () -> {
+                Navigator.getInstance().load(Navigator.CUSTOMER_LOGIN, Navigator.STAFF_LOGIN, Navigator.MENU);
+            });
+        }
 
-        // Create a scene with the loaded FXML
-        Scene scene = new Scene(FXMLLoader.load(Objects.requireNonNull(getClass().getResource("home.fxml"))));
+        // Show the home screen in the scene every screen shares, with the stylesheet applied once
+        profiler.time("Home screen", () -> {
+            Navigator.getInstance().attach(primaryStage, Navigator.HOME);
+        });
 
-        // Apply the CSS stylesheet to the scene
-        scene.getStylesheets().add(Objects.requireNonNull(getClass().getResource("styles.css")).toExternalForm());
-
-        // Set the scene to the stage and configure stage properties
-        primaryStage.setScene(scene);
+        // Configure stage properties
         primaryStage.setTitle("CafeBite Home");
         primaryStage.setMaximized(true);
         primaryStage.show();
+        profiler.watchFirstFrame(primaryStage.getScene());
+
+        // Batch delivery orders into runs as the kitchen finishes them
+        profiler.time("Dispatch board", () -> {
+            DispatchBoard.getInstance().start();
+        });
+
+        // Compact every store that gets opened in the background
+        JournalCompactor.start();
+
+        if (eager) {
+            profiler.finish();
+            return;
+        }
+        Thread warmUp = new Thread(() -> {
+            warmData(profiler);
+            // Parse the screens people open most once their data is ready
+            StartupProfiler.Phase screens = profiler.phase("Screens");
+            Navigator.getInstance().preload(Navigator.CUSTOMER_LOGIN, Navigator.STAFF_LOGIN, Navigator.MENU)
+                    .whenComplete((done, error) -> {
+                        screens.close();
+                        profiler.finish();
+                    });
+        }, "startup-warm-up");
+        warmUp.setDaemon(true);
+        warmUp.start();
+    }
+
+    /**
+     * Opens the data stores, reads the menu and decodes the menu photos, timing each phase.
+     * Problems are printed and left for the screens that need the data to report.
+     *
+     * @param profiler the start-up profiler
+     */
+    private static void warmData(StartupProfiler profiler) {
+        try {
+            profiler.time("Data stores", () -> {
+                StaffRepository.getInstance().findAll();
+                Customer.openStore();
+                new BookingModel().availability(BookingModel.BOOKING_FILE);
+            });
+        } catch (IOException | RuntimeException e) {
+            e.printStackTrace();
+        }
+        List<MenuItem> items = profiler.time("Menu catalog", () -> MenuCatalog.getInstance().getItems());
+        try {
+            profiler.time("Menu photos", () -> {
+                ImageCache.getInstance().warm(items.stream().map(MenuItem::getImagePath).toList()).join();
+            });
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Waits for saves that are still running and writes any held back staff changes,
+     * then exports whatever is still journaled,
+     * or kept in local stores, to the workbooks when the application closes.
+     */
+    @Override
+    public void stop() {
+        AsyncPersistence.shutdown();
+        try {
+            StaffRepository.getInstance().flush();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        JournalCompactor.shutdown();
+        Repositories.exportAll();
     }
 
     /**
@@ -1,24 +1,28 @@
 package cafebite.demo;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.Objects;
+import java.util.Set;
 
 import cafebite.demo.Booking.Booking;
 import cafebite.demo.Booking.BookingModel;
+import cafebite.demo.Booking.BookingStatus;
+import cafebite.demo.Booking.TableInventory;
+import cafebite.demo.Order.OrderLines;
 import cafebite.demo.Order.OrderModel;
+import cafebite.demo.Order.OrderRecord;
+import cafebite.demo.Storage.AsyncPersistence;
+import cafebite.demo.Storage.SortOrder;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Node;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.DatePicker;
 import javafx.scene.control.Spinner;
 import javafx.scene.layout.VBox;
-import javafx.stage.Stage;
 
 /**
  * Controls the actions for ordering and booking within the app.
@@ -51,8 +55,9 @@ public class MakeOrderOrBookingController {
      * Prepares the controller for use, including setting up initial data in components.
      */
     public void initialize() {
-        tableComboBox.getItems().addAll("Table with 2 Seats", "Table with 4 Seats", "Table with 8 Seats",
-                "Table with 10 Seats");
+        for (int seats : TableInventory.getInstance().getSeatSizes()) {
+            tableComboBox.getItems().add("Table with " + seats + " Seats");
+        }
         bookingExcel = new BookingModel();
         orderExcel = new OrderModel();
     }
@@ -88,74 +93,99 @@ public class MakeOrderOrBookingController {
     }
 
     /**
-     * Retrieves and displays a list of all bookings from the file.
-     *
-     * @throws IOException if an error occurs during file reading
+     * Displays the bookings from the day picked in the booking form, or from today if no day is picked,
+     * earliest first and one page at a time. Cancelled bookings are left out.
      */
     @FXML
-    public void getBookingList() throws IOException {
-        List<Booking> bookingList = bookingExcel.getBookings("./BookingData.xlsx");
-        Alert alert = new Alert(Alert.AlertType.INFORMATION);
-        alert.setTitle("Booking List");
-        if (bookingList == null) {
-            alert.setContentText("No Booking Available!");
-            alert.showAndWait();
-            return;
-        }
-        String bookingText = "Number of Guests, Date, Hour, Time, Duration, Table, Status \n";
-        for (Booking booking : bookingList) {
-            bookingText += booking.toString();
-        }
-        alert.setContentText(bookingText);
-        alert.showAndWait();
+    public void getBookingList() {
+        LocalDate from = datePicker.getValue() != null ? datePicker.getValue() : LocalDate.now();
+        Set<BookingStatus> statuses = EnumSet.of(BookingStatus.PENDING, BookingStatus.APPROVED);
+        new PagedTable<Booking>(new PagedTable.PageSource<>() {
+            @Override
+            public int count() throws IOException {
+                return bookingExcel.countBookings(BookingModel.BOOKING_FILE, from, statuses);
+            }
+
+            @Override
+            public List<Booking> page(int offset, int limit) throws IOException {
+                return bookingExcel.getBookingPage(BookingModel.BOOKING_FILE, from, statuses,
+                        SortOrder.OLDEST_FIRST, offset, limit);
+            }
+        })
+                .column("Date", 100, booking -> booking.start().toLocalDate())
+                .column("Time", 70, booking -> booking.start().toLocalTime())
+                .column("Number of Guests", 110, Booking::guests)
+                .column("Duration (min)", 100, booking -> booking.duration().toMinutes())
+                .column("Table", 70, Booking::tableId)
+                .column("Status", 90, Booking::status)
+                .show("Bookings from " + from, "No Booking Available!");
     }
 
     /**
-     * Retrieves and displays a list of all orders from the file.
-     *
-     * @throws IOException if an error occurs during file reading
+     * Displays every order, newest first and one page at a time.
      */
     @FXML
-    public void getOrderList() throws IOException {
-        String ordersText = orderExcel.getOrders("./OrderData.xlsx");
-        Alert alert = new Alert(Alert.AlertType.INFORMATION);
-        alert.setTitle("Order List");
-        if (ordersText == null) {
-            alert.setContentText("No Order Available!");
-            alert.showAndWait();
-            return;
-        }
-        alert.setContentText(ordersText);
-        alert.showAndWait();
+    public void getOrderList() {
+        new PagedTable<OrderRecord>(new PagedTable.PageSource<>() {
+            @Override
+            public int count() throws IOException {
+                return orderExcel.countOrders(OrderModel.ORDER_FILE);
+            }
+
+            @Override
+            public List<OrderRecord> page(int offset, int limit) throws IOException {
+                return orderExcel.getOrderPage(OrderModel.ORDER_FILE, SortOrder.NEWEST_FIRST, offset, limit);
+            }
+        })
+                .column("Order ID", 90, OrderRecord::orderId)
+                .column("Order Type", 90, OrderRecord::orderType)
+                .column("Customer Name", 130, OrderRecord::customerName)
+                .column("Items", 280, OrderRecord::items)
+                .column("Total", 70, order -> OrderLines.formatPounds(OrderLines.toPence(order.totalPrice())))
+                .show("Order List", "No Order Available!");
     }
 
     /**
      * Submits a new booking based on the user input.
+     * The smallest free table of at least the chosen size is booked, so two bookings never share a table.
+     * The booking is saved in the background and the booking form is disabled until it is stored.
      *
      * @throws IOException if an error occurs during booking submission
      */
     @FXML
     public void handleSubmitBooking() throws IOException {
-        String guests = numOfGuests.getValue().toString();
-        String date = datePicker.getValue().toString();
-        String hour = hourSpinner.getValue().toString();
-        String minute = minuteSpinner.getValue().toString();
-        String duration = durationTime.getValue().toString();
-        String table = tableComboBox.getValue().toString();
-
-        Booking newBooking = new Booking(guests, date, hour, minute, duration, table, "pending");
-        bookingExcel.createBooking("./BookingData.xlsx", newBooking);
-        Alert alert = new Alert(Alert.AlertType.INFORMATION,
-                "Booking Successful! \n Your Booking id is " + newBooking.getBookingId());
-        alert.showAndWait();
-        System.out.println("Number of Guests: " + guests);
-        System.out.println("Date: " + date);
-        System.out.println("Hour: " + hour);
-        System.out.println("Minute: " + minute);
-        System.out.println("Duration: " + duration);
-        System.out.println("Table: " + table);
-
-        bookTableContainer.setVisible(false);
+        int guests = Integer.parseInt(numOfGuests.getValue().toString());
+        LocalDate date = datePicker.getValue();
+        int hour = Integer.parseInt(hourSpinner.getValue().toString());
+        int minute = Integer.parseInt(minuteSpinner.getValue().toString());
+        int duration = Integer.parseInt(durationTime.getValue().toString());
+        String tableChoice = tableComboBox.getValue().toString();
+        int minSeats = Integer.parseInt(tableChoice.replaceAll("\\D", ""));
+
+        Booking newBooking = Booking.create(guests, date.atTime(hour, minute), Duration.ofHours(duration),
+                tableChoice, BookingStatus.PENDING);
+        bookTableContainer.setDisable(true);
+        AsyncPersistence.onFxThread(
+                AsyncPersistence.submit(() -> bookingExcel.bookFirstFreeTable(BookingModel.BOOKING_FILE, newBooking,
+                        minSeats)),
+                bookedTable -> {
+                    bookTableContainer.setDisable(false);
+                    if (bookedTable == null) {
+                        new Alert(Alert.AlertType.WARNING,
+                                "Sorry, no table of that size is free at that time. Please pick another time.")
+                                .showAndWait();
+                        return;
+                    }
+                    Alert alert = new Alert(Alert.AlertType.INFORMATION,
+                            "Booking Successful! \n Your Booking id is " + newBooking.bookingId()
+                                    + "\n Your table is " + bookedTable);
+                    alert.showAndWait();
+                    bookTableContainer.setVisible(false);
+                },
+                error -> {
+                    bookTableContainer.setDisable(false);
+                    new Alert(Alert.AlertType.ERROR, "Your booking could not be saved. Please try again.").showAndWait();
+                });
     }
 
     /**
@@ -166,15 +196,8 @@ public class MakeOrderOrBookingController {
      */
     @FXML
     private void handleMakeOrder(ActionEvent event) throws IOException {
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("MenuPage.fxml"));
-        Parent root = loader.load();
-        MenuPageController controller = loader.getController();
+        MenuPageController controller = Navigator.getInstance().show(Navigator.MENU);
         controller.setCurrentUser(username); // Pass the username to the MenuPageController
-
-        Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-        Scene scene = new Scene(root);
-        stage.setScene(scene);
-        stage.show();
     }
 
     /**
@@ -185,13 +208,6 @@ public class MakeOrderOrBookingController {
      */
     @FXML
     private void handleBack(ActionEvent event) throws IOException {
-        Node node = (Node) event.getSource();
-        Stage stage = (Stage) node.getScene().getWindow();
-
-        Scene scene = new Scene(FXMLLoader.load(Objects.requireNonNull(getClass().getResource("home.fxml"))));
-        scene.getStylesheets().add(Objects.requireNonNull(getClass().getResource("styles.css")).toExternalForm());
-
-        stage.setScene(scene);
-        stage.show();
+        Navigator.getInstance().show(Navigator.HOME);
     }
 }
@@ -1,15 +1,17 @@
 package cafebite.demo;
 
 import javafx.fxml.FXML;
-import javafx.scene.Node;
-import javafx.stage.Stage;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Label;
 import javafx.event.ActionEvent;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 
 import java.io.IOException;
-import java.util.Objects;
+import java.util.List;
+
+import cafebite.demo.Order.ItemSales;
+import cafebite.demo.Order.OrderLines;
+import cafebite.demo.Order.OrderModel;
+import cafebite.demo.Storage.AsyncPersistence;
 
 /**
  * The ManagerController handles the actions from the manager's interface.
@@ -20,6 +22,20 @@ import java.util.Objects;
  */
 public class ManagerController {
 
+    @FXML
+    private Label staffNameLabel;
+
+    /**
+     * Shows who is signed in, using the session started at login.
+     */
+    @FXML
+    public void initialize() {
+        StaffPrincipal principal = StaffSession.getCurrent();
+        if (staffNameLabel != null && principal != null) {
+            staffNameLabel.setText("Signed in as " + principal.fullName());
+        }
+    }
+
     /**
      * Shows the staff details screen.
      * This method loads the staff details scene when the action is triggered.
@@ -29,13 +45,46 @@ public class ManagerController {
      */
     @FXML
     private void handleViewStaffDetails(ActionEvent event) throws IOException {
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("StaffDetails.fxml"));
-        Parent root = loader.load();
-        Scene scene = new Scene(root);
-        Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-        stage.setScene(scene);
-        stage.setTitle("Staff Details");
-        stage.show();
+        Navigator.getInstance().show(Navigator.STAFF_DETAILS);
+        Navigator.getInstance().getStage().setTitle("Staff Details");
+    }
+
+    /**
+     * Shows how much of each menu item has been sold and the money taken.
+     * The order lines are added up in the background.
+     *
+     * @param event The event that starts this method. It comes from user's action.
+     */
+    @FXML
+    private void handleViewSales(ActionEvent event) {
+        AsyncPersistence.onFxThread(AsyncPersistence.submit(() -> new OrderModel().getItemSales(OrderModel.ORDER_FILE)),
+                this::showSales, error -> new Alert(Alert.AlertType.ERROR, "Failed to load sales.").showAndWait());
+    }
+
+    /**
+     * Shows the sales of each menu item in a dialog.
+     *
+     * @param sales the sales of each item, best selling first
+     */
+    private void showSales(List<ItemSales> sales) {
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setTitle("Sales");
+        alert.setHeaderText(null);
+        if (sales.isEmpty()) {
+            alert.setContentText("No Sales Yet!");
+            alert.showAndWait();
+            return;
+        }
+        StringBuilder salesText = new StringBuilder();
+        long totalPence = 0;
+        for (ItemSales item : sales) {
+            salesText.append(item.itemName()).append(" x").append(item.quantity()).append(" - ")
+                    .append(OrderLines.formatPounds(item.totalPence())).append("\n");
+            totalPence += item.totalPence();
+        }
+        salesText.append("Total: ").append(OrderLines.formatPounds(totalPence));
+        alert.setContentText(salesText.toString());
+        alert.showAndWait();
     }
 
     /**
@@ -47,12 +96,7 @@ public class ManagerController {
      */
     @FXML
     public void handleBack(ActionEvent event) throws IOException {
-        Node node = (Node) event.getSource();
-        Stage stage = (Stage) node.getScene().getWindow();
-        Parent root = FXMLLoader.load(Objects.requireNonNull(getClass().getResource("StaffLoginPage.fxml")));
-        Scene scene = new Scene(root);
-        scene.getStylesheets().add(Objects.requireNonNull(getClass().getResource("styles.css")).toExternalForm());
-        stage.setScene(scene);
-        stage.show();
+        StaffSession.end();
+        Navigator.getInstance().show(Navigator.STAFF_LOGIN);
     }
 }
\ No newline at end of file
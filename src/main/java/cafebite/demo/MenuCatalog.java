@@ -0,0 +1,144 @@
+package cafebite.demo;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import cafebite.demo.Order.OrderLines;
+
+/**
+ * Keeps the parsed menu in memory so pages do not read menu.csv every time they are shown.
+ * The file is parsed once into {@link MenuItem} objects, indexed by name and by type,
+ * and only parsed again when its last-modified time changes.
+ * Each item's ID comes from the file's ID column, so it stays the same when rows are
+ * added, removed or moved, and orders and saved order lines keep pointing at the same dish.
+ * IDs run from 0 to {@link OrderLines#MAX_ITEM_ID}.
+ *
+ * @author Emmanuel Nwokoro
+ * @version 1.0
+ */
+public final class MenuCatalog {
+    private static final Path MENU_FILE = Paths.get(System.getProperty("user.dir"),
+            "src/main/resources/cafebite/demo/menu.csv");
+
+    private static MenuCatalog instance;
+
+    private final Path menuFile;
+    private FileTime loadedAt;
+    private List<MenuItem> items = Collections.emptyList();
+    private Map<String, MenuItem> itemsByName = Collections.emptyMap();
+    private Map<String, List<MenuItem>> itemsByType = Collections.emptyMap();
+
+    private MenuCatalog(Path menuFile) {
+        this.menuFile = menuFile;
+    }
+
+    /**
+     * Gets the shared catalog for the menu file.
+     *
+     * @return the menu catalog
+     */
+    public static synchronized MenuCatalog getInstance() {
+        if (instance == null) {
+            instance = new MenuCatalog(MENU_FILE);
+        }
+        return instance;
+    }
+
+    /**
+     * Gets every menu item in the order they appear in the file.
+     *
+     * @return an unmodifiable list of menu items
+     */
+    public synchronized List<MenuItem> getItems() {
+        refresh();
+        return items;
+    }
+
+    /**
+     * Finds a menu item by its name.
+     *
+     * @param name the name of the menu item
+     * @return the menu item, or null if there is none with that name
+     */
+    public synchronized MenuItem find(String name) {
+        refresh();
+        return itemsByName.get(name);
+    }
+
+    /**
+     * Gets the menu items of one type, such as Breakfast or Main Course.
+     *
+     * @param type the type of menu item
+     * @return an unmodifiable list of menu items, empty if there are none of that type
+     */
+    public synchronized List<MenuItem> findByType(String type) {
+        refresh();
+        return itemsByType.getOrDefault(type, Collections.emptyList());
+    }
+
+    /**
+     * Parses the menu file again if it has changed since it was last read.
+     * If the file cannot be read the last good menu is kept.
+     */
+    private void refresh() {
+        try {
+            FileTime modified = Files.getLastModifiedTime(menuFile);
+            if (modified.equals(loadedAt)) {
+                return;
+            }
+            load(Files.readAllLines(menuFile));
+            loadedAt = modified;
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Builds the menu and its indexes from the lines of the file.
+     * The first line is the header: Name, Type, Price, Quantity, imagePath, ID.
+     * Lines without a usable ID, with an ID outside 0 to {@link OrderLines#MAX_ITEM_ID},
+     * or with an ID already in use, are skipped.
+     *
+     * @param lines the lines of the menu file
+     */
+    private void load(List<String> lines) {
+        List<MenuItem> parsed = new ArrayList<>();
+        Map<String, MenuItem> byName = new LinkedHashMap<>();
+        Map<String, List<MenuItem>> byType = new LinkedHashMap<>();
+        Set<Integer> ids = new HashSet<>();
+        for (String line : lines.subList(Math.min(1, lines.size()), lines.size())) {
+            String[] details = line.split(",");
+            if (details.length < 6) {
+                continue; // Skip blank or broken lines
+            }
+            MenuItem item;
+            try {
+                item = new MenuItem(Integer.parseInt(details[5].trim()), details[0], details[1],
+                        Double.parseDouble(details[2]), Integer.parseInt(details[3].trim()), details[4]);
+            } catch (NumberFormatException e) {
+                e.printStackTrace();
+                continue;
+            }
+            if (item.getId() < 0 || item.getId() > OrderLines.MAX_ITEM_ID || !ids.add(item.getId())) {
+                continue; // Skip items whose ID is out of range or already in use
+            }
+            parsed.add(item);
+            byName.put(item.getName(), item);
+            byType.computeIfAbsent(item.getType(), type -> new ArrayList<>()).add(item);
+        }
+        byType.replaceAll((type, typeItems) -> Collections.unmodifiableList(typeItems));
+        items = Collections.unmodifiableList(parsed);
+        itemsByName = byName;
+        itemsByType = byType;
+    }
+}
@@ -1,5 +1,7 @@
 package cafebite.demo;
 
+import java.util.Objects;
+
 /**
  * Represents a menu item in a restaurant. This class stores details: item's name, type, price, available quantity,
  * and the path to its image. This helps in managing the menu items shown in the application.
@@ -8,6 +10,11 @@ package cafebite.demo;
  * @version 1.0
  */
 public class MenuItem {
+    /**
+     * ID of the menu item, taken from the ID column of menu.csv.
+     */
+    private final int id;
+
     /**
      * Name of the menu item.
      */
@@ -36,13 +43,15 @@ public class MenuItem {
     /**
      * Constructs a new MenuItem with detailed specifications.
      *
+     * @param id        ID of the menu item, which stays the same when the menu changes.
      * @param name      Name of the menu item.
      * @param type      Type or category of the menu item.
      * @param price     Price of the menu item.
      * @param quantity  Number of items available.
      * @param imagePath Path to the image file for the item.
      */
-    public MenuItem(String name, String type, double price, int quantity, String imagePath) {
+    public MenuItem(int id, String name, String type, double price, int quantity, String imagePath) {
+        this.id = id;
         this.name = name;
         this.type = type;
         this.price = price;
@@ -50,6 +59,15 @@ public class MenuItem {
         this.imagePath = imagePath;
     }
 
+    /**
+     * Gets the ID of the menu item.
+     *
+     * @return The ID of the menu item.
+     */
+    public int getId() {
+        return id;
+    }
+
     /**
      * Gets the name of the menu item.
      *
@@ -94,4 +112,32 @@ public class MenuItem {
     public String getImagePath() {
         return imagePath;
     }
+
+    /**
+     * Checks whether another object is a menu item with the same details.
+     *
+     * @param o the object to compare with
+     * @return true if every detail is the same
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MenuItem other)) {
+            return false;
+        }
+        return id == other.id && Double.compare(price, other.price) == 0 && quantity == other.quantity
+                && name.equals(other.name) && type.equals(other.type) && imagePath.equals(other.imagePath);
+    }
+
+    /**
+     * Gets a hash code made from the menu item's details.
+     *
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, type, price, quantity, imagePath);
+    }
 }
@@ -2,26 +2,16 @@ package cafebite.demo;
 
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
 import javafx.scene.layout.TilePane;
-import javafx.scene.layout.VBox;
-import javafx.stage.Stage;
 import javafx.scene.Node;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.event.ActionEvent;
-import javafx.fxml.FXMLLoader;
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
+import cafebite.demo.Order.OrderLineRecord;
 import cafebite.demo.Order.OrderModel;
+import cafebite.demo.Order.OrderRecord;
+import cafebite.demo.Storage.AsyncPersistence;
 
 /**
  * Manages the menu page where users can see and pick menu items to order.
@@ -40,7 +30,7 @@ public class MenuPageController {
     private Label customerNameLabel;
 
     private OrderManager orderManager = new OrderManager();
-    private Set<VBox> selectedItems = new HashSet<>();
+    private MenuTiles menuTiles;
     private String currentUsername;
     private OrderModel orderExcel;
 
@@ -49,12 +39,14 @@ public class MenuPageController {
      */
     public void initialize() {
         orderTypeCombo.getItems().addAll("Eat In", "Take Away", "Delivery");
+        menuTiles = new MenuTiles(menuTilePane, this::selectItem);
         loadMenuItems();
         orderExcel = new OrderModel();
     }
 
     /**
-     * Updates the UI to show the current user's full name and sets the user for the menu page.
+     * Updates the UI to show the current user's full name and starts a fresh order for them.
+     * The menu page is kept between visits, so anything left from the last visit is cleared.
      *
      * @param username the username of the current customer
      */
@@ -63,6 +55,9 @@ public class MenuPageController {
         String customerFullName = Customer.getFullName(username);
         customerNameLabel.setText(customerFullName);
         orderManager.setCustomerName(customerFullName);
+        startNewOrder();
+        orderTypeCombo.getSelectionModel().clearSelection();
+        orderDetailsArea.clear();
     }
 
     /**
@@ -79,81 +74,65 @@ public class MenuPageController {
 
     /**
      * Finalizes the order process and saves it, then shows a success message.
+     * The order is saved in the background and the checkout button stays disabled until it is stored.
      *
      * @param event the event that triggered this method
      */
     @FXML
     private void handleCheckout(ActionEvent event) {
-        try {
-            orderManager.setOrderType(orderTypeCombo.getValue());
-            String orderSummary = orderManager.getOrderDetails();
-            orderDetailsArea.setText(orderSummary);
-            orderExcel.createOrder("./OrderData.xlsx", orderManager);
-            Alert alert = new Alert(Alert.AlertType.INFORMATION, "Order Successful! \n Your Order id is " + orderManager.orderId);
-            alert.showAndWait();
-            loadMenuItems();
-            orderDetailsArea.clear();
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        orderManager.setOrderType(orderTypeCombo.getValue());
+        String orderSummary = orderManager.getOrderDetails();
+        orderDetailsArea.setText(orderSummary);
+        OrderRecord order = OrderRecord.of(orderManager);
+        List<OrderLineRecord> lines = OrderLineRecord.of(orderManager);
+        Node checkoutButton = (Node) event.getSource();
+        checkoutButton.setDisable(true);
+        AsyncPersistence.onFxThread(
+                AsyncPersistence.run(() -> Checkout.placeOrder(orderExcel, order, lines, currentUsername)),
+                saved -> {
+                    checkoutButton.setDisable(false);
+                    Alert alert = new Alert(Alert.AlertType.INFORMATION, "Order Successful! \n Your Order id is " + order.orderId());
+                    alert.showAndWait();
+                    startNewOrder();
+                    orderDetailsArea.clear();
+                },
+                error -> {
+                    checkoutButton.setDisable(false);
+                    new Alert(Alert.AlertType.ERROR, "Your order could not be saved. Please try again.").showAndWait();
+                });
     }
 
     /**
-     * Loads menu items from a file and shows them on the menu.
+     * Shows the menu items from the shared {@link MenuCatalog} on the menu.
+     * Tiles that are already shown are kept, so only new or changed items are built.
      */
     private void loadMenuItems() {
-        Path filePath = Paths.get(System.getProperty("user.dir"), "src/main/resources/cafebite/demo/menu.csv");
-        try {
-            List<String> lines = Files.readAllLines(filePath);
-            menuTilePane.getChildren().clear();
-            for (String line : lines.subList(1, lines.size())) {
-                String[] details = line.split(",");
-                VBox itemBox = createMenuItem(details[0], details[1], Double.parseDouble(details[2]), details[4]);
-                menuTilePane.getChildren().add(itemBox);
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        menuTiles.show(MenuCatalog.getInstance().getItems());
     }
 
     /**
-     * Makes a box for each menu item with its image, name, and price.
-     *
-     * @param name      the name of the menu item
-     * @param type      the type of the menu item
-     * @param price     the price of the menu item
-     * @param imagePath the path to the image of the menu item
-     * @return a VBox containing the menu item's image, name, and price label
+     * Starts a fresh order for the same customer.
+     * The menu tiles are kept and only their selection is reset.
      */
-    private VBox createMenuItem(String name, String type, double price, String imagePath) {
-        Path filePath = Paths.get(System.getProperty("user.dir"), "src/main/resources/cafebite/demo/IMAGES", imagePath);
-        Image image = new Image(new File(filePath.toString()).toURI().toString(), true);
-        ImageView imageView = new ImageView(image);
-        imageView.setFitHeight(100);
-        imageView.setFitWidth(100);
-        Label nameLabel = new Label(name);
-        Label priceLabel = new Label(String.format("£%.2f", price));
-        VBox box = new VBox(10, imageView, nameLabel, priceLabel);
-        box.setOnMouseClicked(event -> toggleSelectItem(name, price, box));
-        return box;
+    private void startNewOrder() {
+        String customerFullName = orderManager.getCustomerName();
+        orderManager = new OrderManager();
+        orderManager.setCustomerName(customerFullName);
+        menuTiles.clearSelection();
+        loadMenuItems();
     }
 
     /**
-     * Changes the selection state of a menu item when clicked.
+     * Adds or removes a menu item from the order when its tile is clicked.
      *
-     * @param name  the name of the menu item
-     * @param price the price of the menu item
-     * @param box   the VBox representing the menu item
+     * @param item     the menu item
+     * @param selected true if the item was selected, false if it was deselected
      */
-    private void toggleSelectItem(String name, double price, VBox box) {
-        if (selectedItems.contains(box)) {
-            selectedItems.remove(box);
-            box.setStyle("");
-            orderManager.removeItem(name);
+    private void selectItem(MenuItem item, boolean selected) {
+        if (selected) {
+            orderManager.addItem(item);
         } else {
-            selectedItems.add(box);
-            box.setStyle("-fx-border-color: red; -fx-border-radius: 20px;");
-            orderManager.addItem(name, price);
+            orderManager.removeItem(item);
         }
     }
 
@@ -165,14 +144,7 @@ public class MenuPageController {
      */
     @FXML
     private void handleBack(ActionEvent event) throws IOException {
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("MakeOrderOrBooking.fxml"));
-        Parent root = loader.load();
-        MakeOrderOrBookingController controller = loader.getController();
+        MakeOrderOrBookingController controller = Navigator.getInstance().show(Navigator.ORDER_OR_BOOKING);
         controller.setCurrentUser(this.currentUsername);
-
-        Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-        Scene scene = new Scene(root);
-        stage.setScene(scene);
-        stage.show();
     }
 }
@@ -0,0 +1,140 @@
+package cafebite.demo;
+
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.TilePane;
+import javafx.scene.layout.VBox;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the menu tiles shown in a TilePane and which of them are selected.
+ * Tiles are built once per menu item and kept between orders, so starting a new
+ * order only resets the selection styling. When the menu itself changes, only
+ * the tiles of added or changed items are built and the rest are reused.
+ *
+ * @author Emmanuel Nwokoro
+ * @version 1.0
+ */
+public class MenuTiles {
+    private static final String SELECTED_STYLE = "-fx-border-color: red; -fx-border-radius: 20px;";
+
+    private final TilePane tilePane;
+    private final SelectionListener listener;
+    private final Map<MenuItem, VBox> tiles = new HashMap<>();
+    private final Set<MenuItem> selectedItems = new HashSet<>();
+    private List<MenuItem> shownItems;
+
+    /**
+     * Creates the tile model for a TilePane.
+     *
+     * @param tilePane the pane that shows the tiles
+     * @param listener told whenever the customer selects or deselects a tile
+     */
+    public MenuTiles(TilePane tilePane, SelectionListener listener) {
+        this.tilePane = tilePane;
+        this.listener = listener;
+    }
+
+    /**
+     * Shows the given menu items, reusing the tiles of items that are already shown.
+     * Does nothing if the same menu is already shown.
+     *
+     * @param items the menu items to show
+     */
+    public void show(List<MenuItem> items) {
+        if (items == shownItems) {
+            return;
+        }
+        List<Node> children = new ArrayList<>(items.size());
+        Map<MenuItem, VBox> kept = new HashMap<>();
+        for (MenuItem item : items) {
+            VBox tile = tiles.get(item);
+            if (tile == null) {
+                tile = createTile(item);
+            }
+            kept.put(item, tile);
+            children.add(tile);
+        }
+        // Items that left the menu can no longer be part of the order
+        for (MenuItem item : new ArrayList<>(selectedItems)) {
+            if (!kept.containsKey(item)) {
+                selectedItems.remove(item);
+                listener.selectionChanged(item, false);
+            }
+        }
+        tiles.clear();
+        tiles.putAll(kept);
+        if (!tilePane.getChildren().equals(children)) {
+            tilePane.getChildren().setAll(children);
+        }
+        shownItems = items;
+    }
+
+    /**
+     * Deselects every tile without telling the listener, ready for a new order.
+     */
+    public void clearSelection() {
+        for (MenuItem item : selectedItems) {
+            VBox tile = tiles.get(item);
+            if (tile != null) {
+                tile.setStyle("");
+            }
+        }
+        selectedItems.clear();
+    }
+
+    /**
+     * Makes a tile for a menu item with its image, name, and price.
+     *
+     * @param item the menu item
+     * @return a VBox containing the menu item's image, name, and price label
+     */
+    private VBox createTile(MenuItem item) {
+        ImageView imageView = new ImageView(ImageCache.getInstance().thumbnail(item.getImagePath()));
+        imageView.setFitHeight(ImageCache.THUMBNAIL_SIZE);
+        imageView.setFitWidth(ImageCache.THUMBNAIL_SIZE);
+        Label nameLabel = new Label(item.getName());
+        Label priceLabel = new Label(String.format("£%.2f", item.getPrice()));
+        VBox box = new VBox(10, imageView, nameLabel, priceLabel);
+        box.setOnMouseClicked(event -> toggle(item, box));
+        return box;
+    }
+
+    /**
+     * Changes the selection state of a menu item when its tile is clicked.
+     *
+     * @param item the menu item
+     * @param box  the tile of the menu item
+     */
+    private void toggle(MenuItem item, VBox box) {
+        if (selectedItems.remove(item)) {
+            box.setStyle("");
+            listener.selectionChanged(item, false);
+        } else {
+            selectedItems.add(item);
+            box.setStyle(SELECTED_STYLE);
+            listener.selectionChanged(item, true);
+        }
+    }
+
+    /**
+     * Receives the customer's selection changes.
+     */
+    @FunctionalInterface
+    public interface SelectionListener {
+        /**
+         * Called when a tile is selected or deselected.
+         *
+         * @param item     the menu item of the tile
+         * @param selected true if it was selected, false if it was deselected
+         */
+        void selectionChanged(MenuItem item, boolean selected);
+    }
+}
@@ -0,0 +1,203 @@
+package cafebite.demo;
+
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Moves between the screens of the application on one window and one {@link Scene}.
+ * Showing a screen swaps the root of the scene instead of building a new scene, so the
+ * stylesheet is only applied once. The screens people move between most (home, the two
+ * logins and the menu) are parsed once, kept, and preloaded after the first screen is up;
+ * other screens are parsed each time they are shown so they always start fresh.
+ * <p>
+ * Only use the navigator on the JavaFX Application Thread.
+ *
+ * @author Emmanuel Nwokoro
+ * @version 1.0
+ */
+public final class Navigator {
+    /** The home screen. */
+    public static final String HOME = "home.fxml";
+    /** The customer login screen. */
+    public static final String CUSTOMER_LOGIN = "CustomerLoginPage.fxml";
+    /** The customer sign-up screen. */
+    public static final String CUSTOMER_SIGN_UP = "CustomerSignUpPage.fxml";
+    /** The staff login screen. */
+    public static final String STAFF_LOGIN = "StaffLoginPage.fxml";
+    /** The staff sign-up screen. */
+    public static final String STAFF_SIGN_UP = "StaffSIgnUpPage.fxml";
+    /** The screen where a customer picks between ordering and booking. */
+    public static final String ORDER_OR_BOOKING = "MakeOrderOrBooking.fxml";
+    /** The menu screen. */
+    public static final String MENU = "MenuPage.fxml";
+    /** The waiter dashboard. */
+    public static final String WAITER = "Waiter.fxml";
+    /** The chef dashboard. */
+    public static final String CHEF = "Chef.fxml";
+    /** The delivery driver dashboard. */
+    public static final String DELIVERY_DRIVER = "DeliveryDriver.fxml";
+    /** The manager dashboard. */
+    public static final String MANAGER = "Manager.fxml";
+    /** The screen where a manager edits staff details. */
+    public static final String STAFF_DETAILS = "StaffDetails.fxml";
+
+    private static final Set<String> KEPT_SCREENS = Set.of(HOME, CUSTOMER_LOGIN, STAFF_LOGIN, MENU);
+
+    private static Navigator instance;
+
+    private final Map<String, Screen> keptScreens = new HashMap<>();
+    private Stage stage;
+    private Scene scene;
+
+    private Navigator() {
+    }
+
+    /**
+     * Gets the navigator for the application window.
+     *
+     * @return the navigator
+     */
+    public static synchronized Navigator getInstance() {
+        if (instance == null) {
+            instance = new Navigator();
+        }
+        return instance;
+    }
+
+    /**
+     * Puts the first screen on the window, in the scene every other screen will share.
+     *
+     * @param stage the application window
+     * @param fxml  the FXML file of the first screen
+     * @throws IOException if the screen cannot be loaded
+     */
+    public void attach(Stage stage, String fxml) throws IOException {
+        Screen screen = screen(fxml);
+        this.stage = stage;
+        this.scene = new Scene(screen.root());
+        scene.getStylesheets().add(Objects.requireNonNull(getClass().getResource("styles.css")).toExternalForm());
+        stage.setScene(scene);
+        screen.shown();
+    }
+
+    /**
+     * Loads and keeps screens straight away.
+     *
+     * @param fxmls the FXML files of the screens to load
+     * @throws IOException if a screen cannot be loaded
+     */
+    public void load(String... fxmls) throws IOException {
+        for (String fxml : fxmls) {
+            screen(fxml);
+        }
+    }
+
+    /**
+     * Loads and keeps screens one at a time after the current frame,
+     * so they are ready by the time someone opens them.
+     * Can be called from any thread.
+     *
+     * @param fxmls the FXML files of the screens to preload
+     * @return a future that completes when every screen has been loaded or has failed
+     */
+    public CompletableFuture<Void> preload(String... fxmls) {
+        List<CompletableFuture<Void>> loads = new ArrayList<>(fxmls.length);
+        for (String fxml : fxmls) {
+            CompletableFuture<Void> loaded = new CompletableFuture<>();
+            Platform.runLater(() -> {
+                try {
+                    screen(fxml);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+                loaded.complete(null);
+            });
+            loads.add(loaded);
+        }
+        return CompletableFuture.allOf(loads.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * Shows a screen on the window.
+     *
+     * @param fxml the FXML file of the screen
+     * @param <C>  the type of the screen's controller
+     * @return the controller of the screen, so it can be given what it needs
+     * @throws IOException if the screen cannot be loaded
+     */
+    public <C> C show(String fxml) throws IOException {
+        Screen screen = screen(fxml);
+        scene.setRoot(screen.root());
+        screen.shown();
+        @SuppressWarnings("unchecked")
+        C controller = (C) screen.controller();
+        return controller;
+    }
+
+    /**
+     * Gets the application window.
+     *
+     * @return the window the screens are shown on
+     */
+    public Stage getStage() {
+        return stage;
+    }
+
+    /**
+     * Gets a kept screen, or parses the FXML file.
+     *
+     * @param fxml the FXML file of the screen
+     * @return the screen
+     * @throws IOException if the screen cannot be loaded
+     */
+    private Screen screen(String fxml) throws IOException {
+        Screen screen = keptScreens.get(fxml);
+        if (screen == null) {
+            FXMLLoader loader = new FXMLLoader(Objects.requireNonNull(getClass().getResource(fxml), fxml));
+            Parent root = loader.load();
+            screen = new Screen(root, loader.getController());
+            if (KEPT_SCREENS.contains(fxml)) {
+                keptScreens.put(fxml, screen);
+            }
+        }
+        return screen;
+    }
+
+    /**
+     * A parsed screen and its controller.
+     *
+     * @param root       the root of the screen
+     * @param controller the controller of the screen
+     */
+    private record Screen(Parent root, Object controller) {
+        void shown() {
+            if (controller instanceof Shown shown) {
+                shown.screenShown();
+            }
+        }
+    }
+
+    /**
+     * A controller that wants to know each time its screen is shown,
+     * so a kept screen can clear what the last person left on it.
+     */
+    @FunctionalInterface
+    public interface Shown {
+        /**
+         * Called each time the screen is shown.
+         */
+        void screenShown();
+    }
+}
@@ -0,0 +1,15 @@
+package cafebite.demo.Order;
+
+/**
+ * How much of one menu item has been sold, added up from the order lines.
+ *
+ * @param itemId     the menu item ID
+ * @param itemName   the latest name of the menu item
+ * @param quantity   how many have been sold
+ * @param totalPence the money taken for the item, in pence
+ *
+ * @author Aquib Afzal
+ * @version 1.0
+ */
+public record ItemSales(int itemId, String itemName, long quantity, long totalPence) {
+}
@@ -0,0 +1,49 @@
+package cafebite.demo.Order;
+
+import cafebite.demo.OrderManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One line of a stored order, as it is kept in the order lines sheet.
+ *
+ * @param orderId   the unique ID of the order the line belongs to
+ * @param line      the position of the line in the order, starting at 0
+ * @param itemId    the menu item ID
+ * @param itemName  the name of the menu item
+ * @param quantity  how many were ordered
+ * @param unitPence the price of one item in pence
+ *
+ * @author Aquib Afzal
+ * @version 1.0
+ */
+public record OrderLineRecord(String orderId, int line, int itemId, String itemName, int quantity,
+                              long unitPence) {
+
+    /**
+     * Gets the price of the whole line.
+     *
+     * @return the unit price times the quantity, in pence
+     */
+    public long linePence() {
+        return unitPence * quantity;
+    }
+
+    /**
+     * Makes a record of every line of an order that is being checked out.
+     *
+     * @param order the order
+     * @return the line records to store, in line order
+     */
+    public static List<OrderLineRecord> of(OrderManager order) {
+        OrderLines lines = order.lines;
+        String orderId = order.orderId.toString();
+        List<OrderLineRecord> records = new ArrayList<>(lines.size());
+        for (int line = 0; line < lines.size(); line++) {
+            records.add(new OrderLineRecord(orderId, line, lines.itemId(line), lines.name(line),
+                    lines.quantity(line), lines.unitPence(line)));
+        }
+        return records;
+    }
+}
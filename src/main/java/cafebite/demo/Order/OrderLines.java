@@ -0,0 +1,261 @@
+package cafebite.demo.Order;
+
+import java.util.Arrays;
+
+/**
+ * Holds the lines of an order: which menu items were ordered, how many of each, and at what price.
+ * Lines are kept in parallel primitive arrays and found by menu item ID through a
+ * slot table, so adding, removing or changing the quantity of a line takes constant time
+ * and no boxed numbers are created. Prices are whole pence, so the total is always exact.
+ * <p>
+ * Removing a line moves the last line into its place, so line order is only kept while
+ * nothing is removed.
+ * <p>
+ * The slot table has one entry per ID up to the highest ID ordered, so menu item IDs
+ * are limited to {@link #MAX_ITEM_ID}.
+ *
+ * @author Aquib Afzal
+ * @version 1.0
+ */
+public class OrderLines {
+    /**
+     * The highest menu item ID an order can hold.
+     */
+    public static final int MAX_ITEM_ID = 9999;
+
+    private static final int NONE = -1;
+
+    private int[] itemIds = new int[8];
+    private String[] names = new String[8];
+    private int[] quantities = new int[8];
+    private long[] unitPence = new long[8];
+    private int[] slotById = new int[0];
+    private int size;
+    private long totalPence;
+
+    /**
+     * Converts a price in pounds to whole pence, rounding to the nearest penny.
+     *
+     * @param pounds the price in pounds
+     * @return the price in pence
+     */
+    public static long toPence(double pounds) {
+        return Math.round(pounds * 100);
+    }
+
+    /**
+     * Formats an amount of pence as pounds, such as "£12.50".
+     *
+     * @param pence the amount in pence
+     * @return the formatted amount
+     */
+    public static String formatPounds(long pence) {
+        String sign = pence < 0 ? "-" : "";
+        long abs = Math.abs(pence);
+        return String.format("%s£%d.%02d", sign, abs / 100, abs % 100);
+    }
+
+    /**
+     * Adds one of a menu item to the order, or one more if it is already there.
+     *
+     * @param itemId    the menu item ID
+     * @param name      the name of the menu item
+     * @param unitPence the price of one item in pence
+     */
+    public void add(int itemId, String name, long unitPence) {
+        add(itemId, name, unitPence, 1);
+    }
+
+    /**
+     * Adds a number of a menu item to the order.
+     *
+     * @param itemId    the menu item ID
+     * @param name      the name of the menu item
+     * @param unitPence the price of one item in pence
+     * @param quantity  how many to add, at least 1
+     * @throws IllegalArgumentException if the ID is negative or above {@link #MAX_ITEM_ID},
+     *                                  or the quantity is less than 1
+     */
+    public void add(int itemId, String name, long unitPence, int quantity) {
+        if (itemId < 0 || itemId > MAX_ITEM_ID) {
+            throw new IllegalArgumentException("Menu item ID must be between 0 and " + MAX_ITEM_ID + ": " + itemId);
+        }
+        if (quantity < 1) {
+            throw new IllegalArgumentException("Quantity must be at least 1: " + quantity);
+        }
+        int slot = slotOf(itemId);
+        if (slot == NONE) {
+            slot = appendLine(itemId, name, unitPence);
+        }
+        quantities[slot] += quantity;
+        totalPence += this.unitPence[slot] * quantity;
+    }
+
+    /**
+     * Removes a menu item from the order, whatever its quantity.
+     *
+     * @param itemId the menu item ID
+     * @return true if the item was on the order
+     */
+    public boolean remove(int itemId) {
+        int slot = slotOf(itemId);
+        if (slot == NONE) {
+            return false;
+        }
+        removeSlot(slot);
+        return true;
+    }
+
+    /**
+     * Gets how many of a menu item are on the order.
+     *
+     * @param itemId the menu item ID
+     * @return the quantity, or 0 if it is not on the order
+     */
+    public int quantityOf(int itemId) {
+        int slot = slotOf(itemId);
+        return slot == NONE ? 0 : quantities[slot];
+    }
+
+    /**
+     * Gets the number of lines on the order.
+     *
+     * @return the number of different menu items ordered
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether nothing has been ordered.
+     *
+     * @return true if there are no lines
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the menu item ID of a line.
+     *
+     * @param line the line number, from 0 to size() - 1
+     * @return the menu item ID
+     */
+    public int itemId(int line) {
+        return itemIds[checkLine(line)];
+    }
+
+    /**
+     * Gets the menu item name of a line.
+     *
+     * @param line the line number, from 0 to size() - 1
+     * @return the name of the menu item
+     */
+    public String name(int line) {
+        return names[checkLine(line)];
+    }
+
+    /**
+     * Gets the quantity of a line.
+     *
+     * @param line the line number, from 0 to size() - 1
+     * @return how many were ordered
+     */
+    public int quantity(int line) {
+        return quantities[checkLine(line)];
+    }
+
+    /**
+     * Gets the price of one item on a line.
+     *
+     * @param line the line number, from 0 to size() - 1
+     * @return the unit price in pence
+     */
+    public long unitPence(int line) {
+        return unitPence[checkLine(line)];
+    }
+
+    /**
+     * Gets the price of a whole line.
+     *
+     * @param line the line number, from 0 to size() - 1
+     * @return the unit price times the quantity, in pence
+     */
+    public long lineTotalPence(int line) {
+        checkLine(line);
+        return unitPence[line] * quantities[line];
+    }
+
+    /**
+     * Gets the exact total of the order.
+     *
+     * @return the total in pence
+     */
+    public long totalPence() {
+        return totalPence;
+    }
+
+    /**
+     * Describes the lines as text, such as "Welsh Rarebit x2, Ginger Beer x1".
+     *
+     * @return the lines as text
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        for (int line = 0; line < size; line++) {
+            if (line > 0) {
+                text.append(", ");
+            }
+            text.append(names[line]).append(" x").append(quantities[line]);
+        }
+        return text.toString();
+    }
+
+    private int slotOf(int itemId) {
+        return itemId >= 0 && itemId < slotById.length ? slotById[itemId] : NONE;
+    }
+
+    private int appendLine(int itemId, String name, long price) {
+        if (size == itemIds.length) {
+            int capacity = size * 2;
+            itemIds = Arrays.copyOf(itemIds, capacity);
+            names = Arrays.copyOf(names, capacity);
+            quantities = Arrays.copyOf(quantities, capacity);
+            unitPence = Arrays.copyOf(unitPence, capacity);
+        }
+        if (itemId >= slotById.length) {
+            int oldLength = slotById.length;
+            slotById = Arrays.copyOf(slotById, Math.min(MAX_ITEM_ID + 1, Math.max(itemId + 1, oldLength * 2)));
+            Arrays.fill(slotById, oldLength, slotById.length, NONE);
+        }
+        int slot = size++;
+        itemIds[slot] = itemId;
+        names[slot] = name;
+        quantities[slot] = 0;
+        unitPence[slot] = price;
+        slotById[itemId] = slot;
+        return slot;
+    }
+
+    private void removeSlot(int slot) {
+        totalPence -= unitPence[slot] * quantities[slot];
+        slotById[itemIds[slot]] = NONE;
+        int last = --size;
+        if (slot != last) {
+            itemIds[slot] = itemIds[last];
+            names[slot] = names[last];
+            quantities[slot] = quantities[last];
+            unitPence[slot] = unitPence[last];
+            slotById[itemIds[slot]] = slot;
+        }
+        names[last] = null;
+    }
+
+    private int checkLine(int line) {
+        if (line < 0 || line >= size) {
+            throw new IndexOutOfBoundsException("Line " + line + " of " + size);
+        }
+        return line;
+    }
+}
@@ -1,18 +1,27 @@
 package cafebite.demo.Order;
 
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
-
 import cafebite.demo.OrderManager;
+import cafebite.demo.Storage.RecordCodec;
+import cafebite.demo.Storage.Repositories;
+import cafebite.demo.Storage.Repository;
+import cafebite.demo.Storage.SheetReader;
+import cafebite.demo.Storage.SortOrder;
 
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * this class manages the order-related operations,
  * such as creating new orders and retrieving existing orders from a file.
+ * Orders are kept in the {@link Repository} picked at startup: the orders
+ * workbook with its append-only journal, or a local record file.
+ * Each order line is also kept as its own row with typed columns in a lines
+ * workbook next to the orders file, so sales can be added up without parsing text.
  *
  * @author Aquib Afzal
  * @version 1.0
@@ -20,83 +29,222 @@ import java.io.IOException;
 public class OrderModel {
 
     /**
-     * This method creates a new order and adds it to the orders file.
+     * The workbook that orders are exported to.
+     */
+    public static final String ORDER_FILE = "./OrderData.xlsx";
+
+    /**
+     * How an order is laid out in the orders sheet.
+     */
+    private static final RecordCodec<OrderRecord> CODEC = new RecordCodec<>() {
+        @Override
+        public String sheetName() {
+            return "Orders";
+        }
+
+        @Override
+        public String[] headers() {
+            return new String[] { "Order ID", "Order Type", "Customer Name", "Items", "Total Price" };
+        }
+
+        @Override
+        public String key(OrderRecord order) {
+            return order.orderId();
+        }
+
+        @Override
+        public Object[] toCells(OrderRecord order) {
+            return new Object[] { order.orderId(), order.orderType(), order.customerName(), order.items(),
+                    order.totalPrice() };
+        }
+
+        @Override
+        public OrderRecord fromCells(String[] cells) {
+            String totalPrice = SheetReader.cell(cells, 4);
+            return new OrderRecord(SheetReader.cell(cells, 0), SheetReader.cell(cells, 1),
+                    SheetReader.cell(cells, 2), SheetReader.cell(cells, 3),
+                    totalPrice.isEmpty() ? 0.0 : Double.parseDouble(totalPrice));
+        }
+    };
+
+    /**
+     * How an order line is laid out in the order lines sheet.
+     */
+    private static final RecordCodec<OrderLineRecord> LINE_CODEC = new RecordCodec<>() {
+        @Override
+        public String sheetName() {
+            return "Order Lines";
+        }
+
+        @Override
+        public String[] headers() {
+            return new String[] { "Order ID", "Line", "Item ID", "Item Name", "Quantity", "Unit Pence",
+                    "Line Pence" };
+        }
+
+        @Override
+        public String key(OrderLineRecord line) {
+            return line.orderId() + "#" + line.line();
+        }
+
+        @Override
+        public Object[] toCells(OrderLineRecord line) {
+            return new Object[] { line.orderId(), line.line(), line.itemId(), line.itemName(), line.quantity(),
+                    line.unitPence(), line.linePence() };
+        }
+
+        @Override
+        public OrderLineRecord fromCells(String[] cells) {
+            return new OrderLineRecord(SheetReader.cell(cells, 0), Integer.parseInt(SheetReader.cell(cells, 1)),
+                    Integer.parseInt(SheetReader.cell(cells, 2)), SheetReader.cell(cells, 3),
+                    Integer.parseInt(SheetReader.cell(cells, 4)), Long.parseLong(SheetReader.cell(cells, 5)));
+        }
+    };
+
+    /**
+     * This method creates a new order and stores it.
+     * With the Excel store the order is appended to the order journal and folded
+     * into the orders file later by {@link #compact(String)}, so a checkout does
+     * not have to read and rewrite the whole workbook.
      *
      * @param filePath the path to the orders file
      * @param order    the order to be added
-     * @throws IOException if an I/O error occurs while writing to the file
+     * @throws IOException if an I/O error occurs while writing the order
      */
     public void createOrder(String filePath, OrderManager order) throws IOException {
-        XSSFWorkbook workbook = null;
-        Sheet sheet = null;
-        try (FileInputStream fis = new FileInputStream(filePath);) {
-            workbook = fis.available() > 0 ? new XSSFWorkbook(fis) : new XSSFWorkbook();
-            sheet = workbook.getSheet("Orders");
-
-        } catch (FileNotFoundException e) {
-            // If the file does not exist, create a new file and write data
-            workbook = new XSSFWorkbook();
-            sheet = workbook.createSheet("Orders");
-            Row headerRow = sheet.createRow(0);
-
-            CellStyle headerCellStyle = workbook.createCellStyle();
-            headerCellStyle.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
-            headerCellStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-
-            String[] headers = { "Order ID", "Order Type", "Customer Name", "Items", "Total Price" };
-            for (int i = 0; i < headers.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
-                cell.setCellStyle(headerCellStyle);
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
+        createOrder(filePath, OrderRecord.of(order), OrderLineRecord.of(order));
+    }
+
+    /**
+     * This method stores an order that has already been taken from the till.
+     * Saving records rather than the live order lets the save run in the background
+     * while the customer keeps changing their selection.
+     * The lines are stored before the order, so an order is never seen without its lines.
+     *
+     * @param filePath the path to the orders file
+     * @param order    the order to be added
+     * @param lines    the lines of the order
+     * @throws IOException if an I/O error occurs while writing the order
+     */
+    public void createOrder(String filePath, OrderRecord order, List<OrderLineRecord> lines) throws IOException {
+        Repository<OrderLineRecord> lineRepository = lineRepository(filePath);
+        for (OrderLineRecord line : lines) {
+            lineRepository.insert(line);
         }
+        repository(filePath).insert(order);
+    }
 
-        int lastRow = sheet.getLastRowNum() == -1 ? 1 : sheet.getLastRowNum();
-        Row dataRow = sheet.createRow(lastRow + 1);
-        dataRow.createCell(0).setCellValue(order.orderId.toString());
-        dataRow.createCell(1).setCellValue(order.orderType);
-        dataRow.createCell(2).setCellValue(order.customerFullName);
-        dataRow.createCell(3).setCellValue(order.items.toString());
-        dataRow.createCell(4).setCellValue(order.totalPrice);
-
-        FileOutputStream fileOut = new FileOutputStream(filePath);
-        workbook.write(fileOut);
-        fileOut.close();
+    /**
+     * This method moves every journaled order into the orders file.
+     *
+     * @param filePath the path to the orders file
+     * @return the number of orders moved
+     * @throws IOException if an I/O error occurs while writing to the file
+     */
+    public int compact(String filePath) throws IOException {
+        return lineRepository(filePath).compact() + repository(filePath).compact();
     }
 
     /**
      * This method retrieves existing orders from the orders file.
      *
      * @param filePath the path to the orders file
-     * @return a string containing the orders in a CSV format
+     * @return a string containing the orders in a CSV format, or null if there are no orders
      * @throws IOException if an I/O error occurs while reading the file
      */
     public String getOrders(String filePath) throws IOException {
-        String ordersText = "orderId,  orderType,  customerName,  items\n";
-        try (FileInputStream fis = new FileInputStream(filePath);) {
-            XSSFWorkbook workbook = fis.available() > 0 ? new XSSFWorkbook(fis) : new XSSFWorkbook();
-            Sheet sheet = workbook.getSheet("Orders");
-            for (Row row : sheet) {
-                // Skip the header row
-                if (row.getRowNum() == 0) {
-                    continue;
-                }
-
-                // Read data from columns
-
-                String orderId = row.getCell(0).getStringCellValue();
-                String orderType = row.getCell(1).getStringCellValue();
-                String customeName = row.getCell(2).getStringCellValue();
-                String items = row.getCell(3).getStringCellValue();
-                // String totalPrice = row.getCell(4).getStringCellValue();
-                ordersText += orderId + ",  " + orderType + ",  " + customeName + ",  " + items
-                        + "\n";
-            }
-            return ordersText;
-        } catch (FileNotFoundException e) {
-            return null;
-        }
+        StringBuilder ordersText = new StringBuilder("orderId,  orderType,  customerName,  items\n");
+        int[] count = new int[1];
+        repository(filePath).forEach(order -> {
+            ordersText.append(order.orderId()).append(",  ")
+                    .append(order.orderType()).append(",  ")
+                    .append(order.customerName()).append(",  ")
+                    .append(order.items()).append('\n');
+            count[0]++;
+        });
+        return count[0] > 0 ? ordersText.toString() : null;
+    }
+
+    /**
+     * This method counts the stored orders.
+     *
+     * @param filePath the path to the orders file
+     * @return the number of orders
+     * @throws IOException if an I/O error occurs while reading the file
+     */
+    public int countOrders(String filePath) throws IOException {
+        return repository(filePath).count();
+    }
+
+    /**
+     * This method retrieves one page of orders, so a list only reads the orders it shows.
+     *
+     * @param filePath the path to the orders file
+     * @param order    oldest or newest orders first
+     * @param offset   how many orders to skip
+     * @param limit    the most orders to return
+     * @return the orders on the page
+     * @throws IOException if an I/O error occurs while reading the file
+     */
+    public List<OrderRecord> getOrderPage(String filePath, SortOrder order, int offset, int limit)
+            throws IOException {
+        return repository(filePath).page(order, offset, limit);
+    }
+
+    /**
+     * This method adds up how much of each menu item has been sold, from the order lines.
+     * Lines are grouped by menu item ID, so a dish that was renamed is still counted once,
+     * under the name on its latest line.
+     *
+     * @param filePath the path to the orders file
+     * @return the sales of each item, best selling by money taken first
+     * @throws IOException if an I/O error occurs while reading the lines
+     */
+    public List<ItemSales> getItemSales(String filePath) throws IOException {
+        Map<Integer, long[]> totals = new LinkedHashMap<>();
+        Map<Integer, String> names = new HashMap<>();
+        lineRepository(filePath).forEach(line -> {
+            long[] total = totals.computeIfAbsent(line.itemId(), id -> new long[2]);
+            total[0] += line.quantity();
+            total[1] += line.linePence();
+            names.put(line.itemId(), line.itemName());
+        });
+        List<ItemSales> sales = new ArrayList<>(totals.size());
+        totals.forEach((id, total) -> sales.add(new ItemSales(id, names.get(id), total[0], total[1])));
+        sales.sort(Comparator.comparingLong(ItemSales::totalPence).reversed());
+        return sales;
+    }
+
+    /**
+     * This method gets the path of the order lines workbook that goes with an orders file,
+     * so "OrderData.xlsx" has its lines in "OrderDataLines.xlsx".
+     *
+     * @param filePath the path to the orders file
+     * @return the path to the order lines file
+     */
+    public static String linesFile(String filePath) {
+        String base = filePath.endsWith(".xlsx") ? filePath.substring(0, filePath.length() - ".xlsx".length())
+                : filePath;
+        return base + "Lines.xlsx";
+    }
+
+    /**
+     * This method gets the store that holds the orders for a file.
+     *
+     * @param filePath the path to the orders file
+     * @return the order repository
+     */
+    private Repository<OrderRecord> repository(String filePath) {
+        return Repositories.open(filePath, CODEC);
+    }
+
+    /**
+     * This method gets the store that holds the order lines for an orders file.
+     *
+     * @param filePath the path to the orders file
+     * @return the order line repository
+     */
+    private Repository<OrderLineRecord> lineRepository(String filePath) {
+        return Repositories.open(linesFile(filePath), LINE_CODEC);
     }
 }
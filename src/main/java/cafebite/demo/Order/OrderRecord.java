@@ -0,0 +1,30 @@
+package cafebite.demo.Order;
+
+import cafebite.demo.OrderManager;
+
+/**
+ * One stored order, as it is kept in the orders sheet.
+ *
+ * @param orderId      the unique ID of the order
+ * @param orderType    the type of the order, such as Eat In or Delivery
+ * @param customerName the full name of the customer
+ * @param items        the items of the order
+ * @param totalPrice   the total cost of the order
+ *
+ * @author Aquib Afzal
+ * @version 1.0
+ */
+public record OrderRecord(String orderId, String orderType, String customerName, String items,
+                          double totalPrice) {
+
+    /**
+     * Makes a record of an order that is being checked out.
+     *
+     * @param order the order
+     * @return the record to store
+     */
+    public static OrderRecord of(OrderManager order) {
+        return new OrderRecord(order.orderId.toString(), order.orderType, order.customerFullName,
+                order.lines.toString(), order.getTotalPence() / 100.0);
+    }
+}
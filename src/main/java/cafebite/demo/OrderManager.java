@@ -1,20 +1,21 @@
 package cafebite.demo;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.UUID;
 
+import cafebite.demo.Order.OrderLines;
+
 /**
  * Handles the management of orders, including adding and removing items, and keeping track of order details.
+ * Items are kept as {@link OrderLines} with a quantity each, and prices are added up in pence.
  *
  * @author Aquib Afzal
  * @version 1.0
  */
 public class OrderManager {
     /**
-     * Stores each item and its price in the order.
+     * Stores each ordered menu item with its quantity and price.
      */
-    public Map<String, Double> items = new HashMap<>();
+    public final OrderLines lines = new OrderLines();
 
     /**
      * Specifies the type of the order (e.g., "Dine-In", "Takeaway").
@@ -26,11 +27,6 @@ public class OrderManager {
      */
     public UUID orderId;
 
-    /**
-     * The total cost of all items in the order.
-     */
-    public double totalPrice;
-
     /**
      * The full name of the customer who placed the order.
      */
@@ -44,26 +40,30 @@ public class OrderManager {
     }
 
     /**
-     * Adds an item to the order with its price and updates the total price.
+     * Adds one of a menu item to the order, or one more if it is already on the order.
      *
-     * @param item  The name of the item to be added.
-     * @param price The price of the item.
+     * @param item The menu item to be added.
      */
-    public void addItem(String item, double price) {
-        items.put(item, price);
-        totalPrice += price;
+    public void addItem(MenuItem item) {
+        lines.add(item.getId(), item.getName(), OrderLines.toPence(item.getPrice()));
     }
 
     /**
-     * Removes an item from the order if it is present and adjusts the total price accordingly.
+     * Removes a menu item from the order if it is present, whatever its quantity.
      *
-     * @param item The name of the item to be removed.
+     * @param item The menu item to be removed.
      */
-    public void removeItem(String item) {
-        if (items.containsKey(item)) {
-            totalPrice -= items.get(item);
-            items.remove(item);
-        }
+    public void removeItem(MenuItem item) {
+        lines.remove(item.getId());
+    }
+
+    /**
+     * Gets the exact total cost of all items in the order.
+     *
+     * @return The total price in pence.
+     */
+    public long getTotalPence() {
+        return lines.totalPence();
     }
 
     /**
@@ -76,7 +76,7 @@ public class OrderManager {
     }
 
     /**
-     * Provides a detailed description of the order, including item names, prices, and the total cost.
+     * Provides a detailed description of the order, including item names, quantities, prices, and the total cost.
      *
      * @return A string representing the details of the order.
      */
@@ -86,8 +86,14 @@ public class OrderManager {
         details.append("Order Type: ").append(orderType).append("\n");
         details.append("Customer Name: ").append(customerFullName).append("\n");
         details.append("Items:\n");
-        items.forEach((name, price) -> details.append(name).append(" - £").append(String.format("%.2f", price)).append("\n"));
-        details.append("Total Price: £").append(String.format("%.2f", totalPrice));
+        for (int line = 0; line < lines.size(); line++) {
+            details.append(lines.name(line));
+            if (lines.quantity(line) > 1) {
+                details.append(" x").append(lines.quantity(line));
+            }
+            details.append(" - ").append(OrderLines.formatPounds(lines.lineTotalPence(line))).append("\n");
+        }
+        details.append("Total Price: ").append(OrderLines.formatPounds(lines.totalPence()));
         return details.toString();
     }
 
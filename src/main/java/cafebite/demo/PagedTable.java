@@ -0,0 +1,134 @@
+package cafebite.demo;
+
+import cafebite.demo.Storage.AsyncPersistence;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Label;
+import javafx.scene.control.Pagination;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Shows a long list of records in a table, one page at a time.
+ * Only the records on the page being looked at are read, in the background, and the
+ * table only draws the rows that fit on screen, so opening the list takes the same
+ * time however long the history is.
+ *
+ * @param <T> the type of record
+ *
+ * @author Emmanuel Nwokoro
+ * @version 1.0
+ */
+public class PagedTable<T> {
+    /**
+     * The number of rows on each page.
+     */
+    public static final int PAGE_SIZE = 50;
+
+    private final PageSource<T> source;
+    private final TableView<T> table = new TableView<>();
+    private int latestRequest;
+
+    /**
+     * Constructs a paged table that reads its pages from the given source.
+     *
+     * @param source where the pages come from
+     */
+    public PagedTable(PageSource<T> source) {
+        this.source = source;
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_FLEX_LAST_COLUMN);
+        table.setPrefSize(700, 450);
+    }
+
+    /**
+     * Adds a column to the table.
+     *
+     * @param title the column heading
+     * @param width the preferred width of the column
+     * @param value gets the value shown in the column for a record
+     * @return this paged table
+     */
+    public PagedTable<T> column(String title, double width, Function<T, Object> value) {
+        TableColumn<T, String> column = new TableColumn<>(title);
+        column.setPrefWidth(width);
+        // Rows are sorted by the page query, not by the table
+        column.setSortable(false);
+        column.setCellValueFactory(cell -> new ReadOnlyStringWrapper(String.valueOf(value.apply(cell.getValue()))));
+        table.getColumns().add(column);
+        return this;
+    }
+
+    /**
+     * Shows the table in a dialog. The dialog opens straight away and
+     * the number of pages and the first page are filled in once they are read.
+     *
+     * @param title the title of the dialog
+     * @param empty the text shown when there are no records
+     */
+    public void show(String title, String empty) {
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        alert.setResizable(true);
+        alert.getDialogPane().setContent(new Label("Loading..."));
+        AsyncPersistence.onFxThread(AsyncPersistence.submit(source::count), count -> {
+            if (count == 0) {
+                alert.getDialogPane().setContent(new Label(empty));
+                return;
+            }
+            Pagination pagination = new Pagination((count + PAGE_SIZE - 1) / PAGE_SIZE, 0);
+            pagination.setPageFactory(pageIndex -> showPage(pageIndex));
+            alert.getDialogPane().setContent(pagination);
+        }, error -> alert.getDialogPane().setContent(new Label("The list could not be read.")));
+        alert.show();
+    }
+
+    /**
+     * Reads one page in the background and shows it in the table when it arrives.
+     * A page that arrives after the user has moved to another page is dropped.
+     *
+     * @param pageIndex the page number, from 0
+     * @return the table
+     */
+    private TableView<T> showPage(int pageIndex) {
+        int request = ++latestRequest;
+        table.getItems().clear();
+        table.setPlaceholder(new Label("Loading..."));
+        AsyncPersistence.onFxThread(AsyncPersistence.submit(() -> source.page(pageIndex * PAGE_SIZE, PAGE_SIZE)),
+                rows -> {
+                    if (request == latestRequest) {
+                        table.getItems().setAll(rows);
+                    }
+                }, error -> table.setPlaceholder(new Label("This page could not be read.")));
+        return table;
+    }
+
+    /**
+     * Reads the records for a paged table.
+     *
+     * @param <T> the type of record
+     */
+    public interface PageSource<T> {
+        /**
+         * Counts the records.
+         *
+         * @return the number of records
+         * @throws IOException if the records cannot be read
+         */
+        int count() throws IOException;
+
+        /**
+         * Reads one page of records.
+         *
+         * @param offset how many records to skip
+         * @param limit  the most records to return
+         * @return the records on the page
+         * @throws IOException if the records cannot be read
+         */
+        List<T> page(int offset, int limit) throws IOException;
+    }
+}
@@ -0,0 +1,104 @@
+package cafebite.demo;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Hashes passwords with PBKDF2 so stored credentials are never kept as plain text.
+ * Each hash has its own random salt. A stored hash looks like
+ * {@code pbkdf2-sha256$iterations$salt$hash}, with the salt and hash in Base64,
+ * so hashes made with fewer iterations can still be checked if the count is raised.
+ *
+ * @author Emmanuel Nwokoro
+ * @version 1.0
+ */
+public final class PasswordHasher {
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final String SCHEME = "pbkdf2-sha256";
+    private static final int ITERATIONS = 210_000;
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private PasswordHasher() {
+    }
+
+    /**
+     * Hashes a password with a new random salt.
+     *
+     * @param password the password
+     * @return the stored form of the hash
+     */
+    public static String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        Base64.Encoder base64 = Base64.getEncoder().withoutPadding();
+        return SCHEME + "$" + ITERATIONS + "$" + base64.encodeToString(salt) + "$"
+                + base64.encodeToString(derive(password, salt, ITERATIONS, HASH_BITS));
+    }
+
+    /**
+     * Checks a password against a stored hash, taking the same time however much of it matches.
+     *
+     * @param password the password to check
+     * @param stored   the stored form of the hash
+     * @return true if the password matches
+     */
+    public static boolean verify(String password, String stored) {
+        if (!isHash(stored)) {
+            return false;
+        }
+        String[] parts = stored.split("\\$");
+        try {
+            int iterations = Integer.parseInt(parts[1]);
+            byte[] salt = Base64.getDecoder().decode(parts[2]);
+            byte[] expected = Base64.getDecoder().decode(parts[3]);
+            return MessageDigest.isEqual(expected, derive(password, salt, iterations, expected.length * 8));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Checks whether a stored password is a hash made by this class, rather than a plain-text
+     * password saved before passwords were hashed.
+     *
+     * @param stored the stored password
+     * @return true if it is a hash
+     */
+    public static boolean isHash(String stored) {
+        return stored != null && stored.startsWith(SCHEME + "$") && stored.split("\\$").length == 4;
+    }
+
+    /**
+     * Compares a password with a plain-text password saved before passwords were hashed,
+     * taking the same time however much of it matches.
+     *
+     * @param password the password to check
+     * @param stored   the plain-text password
+     * @return true if they are the same
+     */
+    public static boolean matchesPlainText(String password, String stored) {
+        return stored != null && MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8),
+                stored.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] derive(String password, byte[] salt, int iterations, int bits) {
+        char[] chars = password.toCharArray();
+        PBEKeySpec spec = new PBEKeySpec(chars, salt, iterations, bits);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        } finally {
+            spec.clearPassword();
+            Arrays.fill(chars, '\0');
+        }
+    }
+}
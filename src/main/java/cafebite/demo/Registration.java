@@ -0,0 +1,22 @@
+package cafebite.demo;
+
+/**
+ * The outcome of registering a new customer or staff member.
+ *
+ * @author Emmanuel Nwokoro
+ * @version 1.0
+ */
+public enum Registration {
+    /**
+     * The new account was saved.
+     */
+    SAVED,
+    /**
+     * Nothing was saved because the username or Staff ID is already in use.
+     */
+    DUPLICATE,
+    /**
+     * Nothing was saved because the store could not be written.
+     */
+    FAILED
+}
@@ -1,27 +1,32 @@
 package cafebite.demo;
 
+import javafx.beans.property.StringProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
-import javafx.scene.control.TextField;
+import javafx.scene.control.Alert;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.Dialog;
 import javafx.scene.control.Label;
 import javafx.scene.control.PasswordField;
-import javafx.scene.control.Button;
-import javafx.scene.control.Alert;
-import javafx.scene.layout.VBox;
-import javafx.scene.layout.HBox;
-import javafx.scene.layout.Priority;
-import javafx.stage.Stage;
-import javafx.scene.Node;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TextField;
+import javafx.scene.control.cell.TextFieldTableCell;
+import javafx.scene.layout.GridPane;
 import javafx.event.ActionEvent;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import java.io.IOException;
-import java.util.List;
-import java.util.Objects;
+import java.util.function.Function;
+
+import cafebite.demo.Storage.AsyncPersistence;
 
 /**
  * Manages the display and interactions within the staff details page.
  * Allows adding, updating, and deleting staff members.
+ * <p>
+ * The staff are loaded once into an observable list shown in a table, which only
+ * builds rows for the staff on screen. Editing a cell changes that one detail,
+ * and adding or deleting a staff member adds or removes one row.
  *
  * @author Emmanuel Nwokoro
  * @version 1.0
@@ -29,162 +34,164 @@ import java.util.Objects;
 public class StaffDetailsController {
 
     @FXML
-    private VBox staffCardsContainer;
+    private TableView<StaffMember> staffTable;
 
-    @FXML
-    private TextField firstNameInput, lastNameInput, staffIdInput, staffTypeInput;
-    @FXML
-    private PasswordField passwordInput;
-    @FXML
-    private Button addButton;
+    private final ObservableList<StaffMember> staffMembers = FXCollections.observableArrayList();
 
     /**
-     * Sets up the staff list and the add button when the page is first shown.
-     * Loads all staff details to display.
-     *
-     * @throws IOException if there is a problem loading staff details
+     * Sets up the staff table and loads all staff details in the background.
      */
-    public void initialize() throws IOException {
-        refreshStaffList(); // Make sure this method handles exceptions internally and gracefully.
-        setupAddButton();
-        try {
-            List<StaffMember> staffMembers = Staff.getAllStaffDetails();
-            for (StaffMember staff : staffMembers) {
-                staffCardsContainer.getChildren().add(createStaffCard(staff, false));
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        refreshStaffList();
-        if (addButton != null) {
-            addButton.setOnAction(event -> addNewStaff());
-        }
+    public void initialize() {
+        staffTable.getColumns().add(column("First Name", 150, StaffMember::firstNameProperty));
+        staffTable.getColumns().add(column("Last Name", 150, StaffMember::lastNameProperty));
+        staffTable.getColumns().add(column("Staff ID", 150, StaffMember::staffIdProperty));
+        staffTable.getColumns().add(column("Staff Type", 150, StaffMember::staffTypeProperty));
+        staffTable.setEditable(true);
+        staffTable.setItems(staffMembers);
+        staffTable.setPlaceholder(new Label("Loading staff..."));
+        AsyncPersistence.onFxThread(AsyncPersistence.submit(Staff::getAllStaffDetails), staff -> {
+            staffMembers.setAll(staff);
+            staffTable.setPlaceholder(new Label("No staff yet."));
+        }, error -> {
+            staffTable.setPlaceholder(new Label("Staff details could not be loaded."));
+            showAlert("Error", "Failed to load staff details.", Alert.AlertType.ERROR);
+        });
     }
 
-    private void setupAddButton() {
-        if (addButton != null) {
-            addButton.setOnAction(event -> {
-                try {
-                    addNewStaff();
-                } catch (Exception e) {
-                    e.printStackTrace();
-                    showAlert("Error", "Failed to add new staff.", Alert.AlertType.ERROR);
-                }
-            });
-        }
+    /**
+     * Makes an editable table column for one staff detail.
+     * @param title the column heading
+     * @param width the preferred width of the column
+     * @param detail gets the property of the detail shown in the column
+     * @return the column
+     */
+    private TableColumn<StaffMember, String> column(String title, double width,
+                                                   Function<StaffMember, StringProperty> detail) {
+        TableColumn<StaffMember, String> column = new TableColumn<>(title);
+        column.setPrefWidth(width);
+        column.setCellValueFactory(cell -> detail.apply(cell.getValue()));
+        column.setCellFactory(TextFieldTableCell.forTableColumn());
+        column.setOnEditCommit(event -> updateStaff(event.getRowValue(), detail.apply(event.getRowValue()),
+                event.getOldValue(), event.getNewValue()));
+        return column;
     }
 
     /**
-     * Refreshes the list of staff displayed on the page.
-     * @throws IOException if there is a problem reading staff details
+     * Saves one edited detail of a staff member.
+     * The change is seen at once and written with the next batch of staff changes.
+     * If it cannot be saved the cell goes back to its old value.
+     * @param staff the staff member that was edited
+     * @param detail the property of the edited detail
+     * @param oldValue the value before the edit
+     * @param newValue the value that was typed
      */
-    private void refreshStaffList() throws IOException {
+    private void updateStaff(StaffMember staff, StringProperty detail, String oldValue, String newValue) {
+        String previousId = staff.getStaffId();
+        detail.set(newValue.trim());
+        if (staff.getStaffId().isEmpty()) {
+            detail.set(oldValue);
+            showAlert("Error", "Staff ID cannot be empty.", Alert.AlertType.ERROR);
+            return;
+        }
         try {
-            staffCardsContainer.getChildren().clear();
-            List<StaffMember> staffMembers = Staff.getAllStaffDetails();
-            if (staffMembers != null) {
-                for (StaffMember staff : staffMembers) {
-                    VBox staffCard = createStaffCard(staff, false);
-                    staffCardsContainer.getChildren().add(staffCard);
-                }
+            if (!Staff.updateStaffDetails(previousId, staff)) {
+                detail.set(oldValue);
+                showAlert("Error", previousId.equals(staff.getStaffId()) ? "Failed to save staff details."
+                        : "Staff ID " + newValue.trim() + " is already in use.", Alert.AlertType.ERROR);
             }
-        } catch (Exception e) {
+        } catch (IOException e) {
             e.printStackTrace();
-            showAlert("Error", "Failed to load staff details.", Alert.AlertType.ERROR);
+            detail.set(oldValue);
+            showAlert("Error", "Failed to save staff details.", Alert.AlertType.ERROR);
         }
     }
 
     /**
-     * Creates a visual card for each staff member that allows interaction such as delete and update.
-     * @param staff the staff member data to create a card for
-     * @param isNew flag indicating if this is a new staff member being added
-     * @return VBox the visual card for a staff member
+     * Asks for the details of a new staff member and adds them in the background.
+     * The new staff member is added to the table when they are saved.
      */
-    private VBox createStaffCard(StaffMember staff, Boolean isNew) {
-        VBox staffCard = new VBox(10);
-        TextField nameField = new TextField(staff.getFirstName() + " " + staff.getLastName());
-        TextField idField = new TextField(staff.getStaffId());
-        TextField typeField = new TextField(staff.getStaffType());
-        Button deleteButton = new Button("Delete");
-        deleteButton.setOnAction(event -> deleteStaff(staff, staffCard));
-        if(isNew){
-            Button saveButton = new Button("Save");
-
-            saveButton.setOnAction(event -> saveStaff(staff, nameField.getText(), idField.getText(), typeField.getText(), true));
-
-            staffCard.getChildren().addAll(new Label("Name:"), nameField, new Label("ID:"), idField, new Label("Type:"),
-                    typeField, saveButton, deleteButton);
-        }else{
-
-            Button updateButton = new Button("Update");
-
-            updateButton.setOnAction(event -> saveStaff(staff, nameField.getText(), idField.getText(), typeField.getText(), false));
-
-            staffCard.getChildren().addAll(new Label("Name:"), nameField, new Label("ID:"), idField, new Label("Type:"),
-                    typeField, updateButton, deleteButton);
+    @FXML
+    private void addNewStaff() {
+        TextField firstNameInput = new TextField();
+        TextField lastNameInput = new TextField();
+        TextField staffIdInput = new TextField();
+        TextField staffTypeInput = new TextField();
+        PasswordField passwordInput = new PasswordField();
+        GridPane form = new GridPane();
+        form.setHgap(10);
+        form.setVgap(10);
+        form.addRow(0, new Label("First Name:"), firstNameInput);
+        form.addRow(1, new Label("Last Name:"), lastNameInput);
+        form.addRow(2, new Label("Staff ID:"), staffIdInput);
+        form.addRow(3, new Label("Staff Type:"), staffTypeInput);
+        form.addRow(4, new Label("Password:"), passwordInput);
+
+        Dialog<ButtonType> dialog = new Dialog<>();
+        dialog.setTitle("Add New Staff");
+        dialog.getDialogPane().setContent(form);
+        dialog.getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
+        if (dialog.showAndWait().orElse(ButtonType.CANCEL) != ButtonType.OK) {
+            return;
         }
-        HBox.setHgrow(staffCard, Priority.ALWAYS);
-        return staffCard;
+        String firstName = firstNameInput.getText().trim();
+        String lastName = lastNameInput.getText().trim();
+        String staffId = staffIdInput.getText().trim();
+        String staffType = staffTypeInput.getText().trim();
+        String password = passwordInput.getText();
+        if (staffId.isEmpty()) {
+            showAlert("Error", "Staff ID cannot be empty.", Alert.AlertType.ERROR);
+            return;
+        }
+        AsyncPersistence.onFxThread(AsyncPersistence.submit(() ->
+                Staff.addNewStaff(firstName, lastName, staffId, password, staffType)), result -> {
+            if (result == Registration.DUPLICATE) {
+                showAlert("Error", "Staff ID " + staffId + " is already in use.", Alert.AlertType.ERROR);
+            } else if (result == Registration.FAILED) {
+                showAlert("Error", "Failed to save staff details.", Alert.AlertType.ERROR);
+            } else {
+                staffMembers.add(new StaffMember(firstName, lastName, staffId, staffType, ""));
+                showAlert("Success", "Staff details saved successfully!", Alert.AlertType.INFORMATION);
+            }
+        }, error -> showAlert("Error", "Failed to save staff details.", Alert.AlertType.ERROR));
     }
 
     /**
-     * Saves or updates staff information based on the input fields from the staff card.
-     * @param staff the staff member object to update
-     * @param fullName the full name of the staff
-     * @param staffId the ID of the staff
-     * @param staffType the type of staff
-     * @param isNew a boolean indicating if this is a new staff member
+     * Deletes the selected staff member in the background and removes their row when it is done.
      */
-    private void saveStaff(StaffMember staff, String fullName, String staffId,
-                           String staffType, Boolean isNew) {
-        String[] names = fullName.split(" ");
-        String firstName = names[0];
-        String lastName = names.length > 1 ? names[1] : "";
-
-        staff.setFirstName(firstName);
-        staff.setLastName(lastName);
-        staff.setStaffId(staffId);
-        staff.setStaffType(staffType);
-        if (isNew) {
-            Staff.addNewStaff(firstName, lastName, staffId, "", staffType);
-        }else{
-            Staff.updateStaffDetails(staff);
+    @FXML
+    private void handleDelete() {
+        StaffMember staff = staffTable.getSelectionModel().getSelectedItem();
+        if (staff == null) {
+            showAlert("Error", "Select a staff member to delete.", Alert.AlertType.ERROR);
+            return;
         }
-        showAlert("Success", isNew ? "Staff details saved successfully!"
-                : "Staff details updated successfully!", Alert.AlertType.INFORMATION);
+        String staffId = staff.getStaffId();
+        AsyncPersistence.onFxThread(AsyncPersistence.submit(() -> Staff.deleteStaff(staffId)), deleted -> {
+            staffMembers.remove(staff);
+            if (deleted) {
+                showAlert("Success", "Staff deleted successfully!",
+                        Alert.AlertType.INFORMATION);
+            }
+        }, error -> showAlert("Error", "Failed to delete staff.", Alert.AlertType.ERROR));
     }
 
     /**
-     * Deletes a staff member and updates the UI.
-     * @param staff the staff member to delete
-     * @param staffCard the visual card of the staff member that needs to be removed
+     * Writes every staff change that has not been saved yet to the Excel file in one pass.
+     * The write happens in the background and the result is shown when it is done.
      */
-    private void deleteStaff(StaffMember staff, VBox staffCard) {
-        if (Staff.deleteStaff(staff.getStaffId())) {
-            staffCardsContainer.getChildren().remove(staffCard);
-            showAlert("Success", "Staff deleted successfully!",
-                    Alert.AlertType.INFORMATION);
-        } else {
-            staffCardsContainer.getChildren().remove(staffCard);
-        }
-    }
-
     @FXML
-    private void addNewStaff() {
-        StaffMember newStaff = new StaffMember("", "",
-                "", "", ""); // Adjust as necessary for constructor with password
-        VBox newStaffCard = createStaffCard(newStaff, true);
-        staffCardsContainer.getChildren().add(newStaffCard);
+    private void handleSaveAll() {
+        AsyncPersistence.onFxThread(AsyncPersistence.submit(Staff::saveAllChanges), saved ->
+                showAlert("Success", saved == 0 ? "All staff changes are already saved."
+                        : "Saved changes to " + saved + " staff member" + (saved == 1 ? "." : "s."),
+                        Alert.AlertType.INFORMATION),
+                error -> showAlert("Error", "Failed to save staff changes.", Alert.AlertType.ERROR));
     }
 
     @FXML
     private void handleBack(ActionEvent event) {
         try {
-            Parent root = FXMLLoader.load(Objects.requireNonNull(getClass().getResource("Manager.fxml")));
-            Scene scene = new Scene(root);
-            Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-            stage.setScene(scene);
-            stage.show();
+            Navigator.getInstance().show(Navigator.MANAGER);
         } catch (IOException e) {
             e.printStackTrace();
         }
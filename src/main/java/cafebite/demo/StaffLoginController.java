@@ -2,14 +2,9 @@ package cafebite.demo;
 
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import javafx.scene.Node;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.stage.Stage;
 import javafx.event.ActionEvent;
-import javafx.fxml.FXMLLoader;
 import java.io.IOException;
-import java.util.Objects;
 
 /**
  * Manages the login process for staff members.
@@ -18,7 +13,7 @@ import java.util.Objects;
  * @author Emmanuel Nwokoro
  * @version 1.0
  */
-public class StaffLoginController {
+public class StaffLoginController implements Navigator.Shown {
 
     @FXML
     private TextField staffId;
@@ -29,6 +24,15 @@ public class StaffLoginController {
     @FXML
     private Hyperlink signUpHyperlink; // Hyperlink for navigating to the sign-up page.
 
+    /**
+     * Clears the login form each time the page is shown, so the last staff member's details are not left on it.
+     */
+    @Override
+    public void screenShown() {
+        staffId.clear();
+        password.clear();
+    }
+
     /**
      * Handles what happens when the staff login button is clicked.
      * It checks if the staff ID and password are correct.
@@ -40,36 +44,40 @@ public class StaffLoginController {
      */
     @FXML
     private void handleStaffLogin(ActionEvent event) throws IOException {
-        if (Staff.validateLogin(staffId.getText(), password.getText())) {
-            String staffType = Staff.getStaffType(staffId.getText());
-            String fullName = Staff.getFullName(staffId.getText());
-            FXMLLoader loader = new FXMLLoader();
+        StaffPrincipal principal;
+        try {
+            principal = Staff.authenticate(staffId.getText(), password.getText());
+        } catch (IOException e) {
+            e.printStackTrace();
+            showAlert(Alert.AlertType.ERROR, "Staff details could not be read. Please try again.");
+            return;
+        }
+        if (principal != null) {
+            String dashboard;
 
-            switch (staffType) {
+            switch (principal.role()) {
                 case "Waiter":
-                    loader.setLocation(getClass().getResource("Waiter.fxml"));
+                    dashboard = Navigator.WAITER;
                     break;
                 case "Chef":
-                    loader.setLocation(getClass().getResource("Chef.fxml"));
+                    dashboard = Navigator.CHEF;
                     break;
                 case "Delivery Driver":
-                    loader.setLocation(getClass().getResource("DeliveryDriver.fxml"));
+                    dashboard = Navigator.DELIVERY_DRIVER;
                     break;
                 case "Manager":
-                    loader.setLocation(getClass().getResource("Manager.fxml"));
+                    dashboard = Navigator.MANAGER;
                     break;
                 default:
                     showAlert(Alert.AlertType.ERROR, "Invalid Staff Role!");
                     return;
             }
 
-            Parent root = loader.load();
-            Scene scene = new Scene(root);
-            Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-            stage.setTitle(fullName); // Set the window title to the user's full name
-            stage.setScene(scene);
+            StaffSession.start(principal);
+            Navigator.getInstance().show(dashboard);
+            Stage stage = Navigator.getInstance().getStage();
+            stage.setTitle(principal.fullName()); // Set the window title to the user's full name
             stage.setMaximized(true);
-            stage.show();
         } else {
             showAlert(Alert.AlertType.ERROR, "Invalid Staff ID or password!");
         }
@@ -96,11 +104,7 @@ public class StaffLoginController {
      */
     @FXML
     private void handleSignUp(ActionEvent event) throws IOException {
-        Parent root = FXMLLoader.load(Objects.requireNonNull(getClass().getResource("StaffSignUpPage.fxml")));
-        Scene scene = new Scene(root);
-        Stage stage = (Stage)((Node)event.getSource()).getScene().getWindow();
-        stage.setScene(scene);
-        stage.setMaximized(true);
-        stage.show();
+        Navigator.getInstance().show(Navigator.STAFF_SIGN_UP);
+        Navigator.getInstance().getStage().setMaximized(true);
     }
 }
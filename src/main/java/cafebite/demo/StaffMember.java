@@ -1,25 +1,22 @@
 package cafebite.demo;
 
-import javafx.scene.control.TextField;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
 
 /**
  * Represents a staff member in the application.
  * This class stores information about a staff member such as their name, ID, and staff type.
- * It also handles user interface components to edit these properties.
+ * Each detail is a JavaFX property, so a table showing the staff member updates
+ * only the cell whose detail changed.
  *
  * @author Emmanuel Nwokoro
  * @version 1.0
  */
 public class StaffMember {
-    private String firstName;
-    private String lastName;
-    private String staffId;
-    private String staffType;
-
-    // JavaFX TextField components for editing properties
-    private transient TextField nameField;
-    private transient TextField idField;
-    private transient TextField typeField;
+    private final StringProperty firstName = new SimpleStringProperty();
+    private final StringProperty lastName = new SimpleStringProperty();
+    private final StringProperty staffId = new SimpleStringProperty();
+    private final StringProperty staffType = new SimpleStringProperty();
 
     /**
      * Constructor to create a new StaffMember.
@@ -32,10 +29,10 @@ public class StaffMember {
      */
     public StaffMember(String firstName, String lastName, String staffId,
                        String staffType, String s) {
-        this.firstName = firstName;
-        this.lastName = lastName;
-        this.staffId = staffId;
-        this.staffType = staffType;
+        this.firstName.set(firstName);
+        this.lastName.set(lastName);
+        this.staffId.set(staffId);
+        this.staffType.set(staffType);
     }
 
     /**
@@ -44,7 +41,7 @@ public class StaffMember {
      * @return the first name of the staff member
      */
     public String getFirstName() {
-        return firstName;
+        return firstName.get();
     }
 
     /**
@@ -53,7 +50,7 @@ public class StaffMember {
      * @return the full name of the staff member
      */
     public String getFullName() {
-        return firstName + " " + lastName;
+        return getFirstName() + " " + getLastName();
     }
 
     /**
@@ -62,7 +59,7 @@ public class StaffMember {
      * @param firstName the first name to set
      */
     public void setFirstName(String firstName) {
-        this.firstName = firstName;
+        this.firstName.set(firstName);
     }
 
     /**
@@ -71,7 +68,7 @@ public class StaffMember {
      * @return the last name of the staff member
      */
     public String getLastName() {
-        return lastName;
+        return lastName.get();
     }
 
     /**
@@ -80,7 +77,7 @@ public class StaffMember {
      * @param lastName the last name to set
      */
     public void setLastName(String lastName) {
-        this.lastName = lastName;
+        this.lastName.set(lastName);
     }
 
     /**
@@ -89,7 +86,7 @@ public class StaffMember {
      * @return the staff ID
      */
     public String getStaffId() {
-        return staffId;
+        return staffId.get();
     }
 
     /**
@@ -98,7 +95,7 @@ public class StaffMember {
      * @param staffId the staff ID to set
      */
     public void setStaffId(String staffId) {
-        this.staffId = staffId;
+        this.staffId.set(staffId);
     }
 
     /**
@@ -107,7 +104,7 @@ public class StaffMember {
      * @return the staff type
      */
     public String getStaffType() {
-        return staffType;
+        return staffType.get();
     }
 
     /**
@@ -116,61 +113,42 @@ public class StaffMember {
      * @param staffType the staff type to set
      */
     public void setStaffType(String staffType) {
-        this.staffType = staffType;
-    }
-
-    /**
-     * Gets the TextField for editing the name.
-     *
-     * @return the TextField for the name
-     */
-    public TextField getNameField() {
-        return nameField;
+        this.staffType.set(staffType);
     }
 
     /**
-     * Sets the TextField for editing the name.
+     * Gets the first name as a property that can be watched or bound.
      *
-     * @param nameField the TextField to set for the name
+     * @return the first name property
      */
-    public void setNameField(TextField nameField) {
-        this.nameField = nameField;
-    }
-
-    /**
-     * Gets the TextField for editing the staff ID.
-     *
-     * @return the TextField for the staff ID
-     */
-    public TextField getIdField() {
-        return idField;
+    public StringProperty firstNameProperty() {
+        return firstName;
     }
 
     /**
-     * Sets the TextField for editing the staff ID.
+     * Gets the last name as a property that can be watched or bound.
      *
-     * @param idField the TextField to set for the staff ID
+     * @return the last name property
      */
-    public void setIdField(TextField idField) {
-        this.idField = idField;
+    public StringProperty lastNameProperty() {
+        return lastName;
     }
 
     /**
-     * Gets the TextField for editing the staff type.
+     * Gets the staff ID as a property that can be watched or bound.
      *
-     * @return the TextField for the staff type
+     * @return the staff ID property
      */
-    public TextField getTypeField() {
-        return typeField;
+    public StringProperty staffIdProperty() {
+        return staffId;
     }
 
     /**
-     * Sets the TextField for editing the staff type.
+     * Gets the staff type as a property that can be watched or bound.
      *
-     * @param typeField the TextField to set for the staff type
+     * @return the staff type property
      */
-    public void setTypeField(TextField typeField) {
-
-        this.typeField = typeField;
+    public StringProperty staffTypeProperty() {
+        return staffType;
     }
 }
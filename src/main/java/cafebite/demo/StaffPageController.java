@@ -1,14 +1,8 @@
 package cafebite.demo;
 
 import javafx.fxml.FXML;
-import javafx.scene.Node;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
-import javafx.stage.Stage;
-import javafx.fxml.FXMLLoader;
 import javafx.event.ActionEvent;
 import java.io.IOException;
-import java.util.Objects;
 
 /**
  * Manages the navigation for staff-related screens within the application.
@@ -25,18 +19,7 @@ public class StaffPageController {
      */
     public void handleBack(ActionEvent event) {
         try {
-            Node node = (Node) event.getSource();
-            Stage stage = (Stage) node.getScene().getWindow();
-            // Load the home page FXML
-            Parent root = FXMLLoader.load(Objects.requireNonNull(getClass().getResource("Home.fxml")));
-            Scene scene = new Scene(root);
-
-            // Add the CSS file to the scene
-            scene.getStylesheets().add(Objects.requireNonNull(getClass().getResource("styles.css")).toExternalForm());
-
-            // Set and show the scene on the current stage
-            stage.setScene(scene);
-            stage.show();
+            Navigator.getInstance().show(Navigator.HOME);
         } catch (IOException e) {
             e.printStackTrace(); // Print the stack trace if an IOException occurs
         }
@@ -50,11 +33,7 @@ public class StaffPageController {
      */
     @FXML
     public void switchToLogin(ActionEvent event) throws IOException {
-        Node node = (Node) event.getSource();
-        Stage stage = (Stage) node.getScene().getWindow();
-        Scene scene = new Scene(FXMLLoader.load(Objects.requireNonNull(getClass().getResource("login_staff.fxml"))));
-        stage.setScene(scene);
-        stage.show();
+        Navigator.getInstance().show(Navigator.STAFF_LOGIN);
     }
 
     /**
@@ -65,10 +44,6 @@ public class StaffPageController {
      */
     @FXML
     public void switchToView(ActionEvent event) throws IOException {
-        Node node = (Node) event.getSource();
-        Stage stage = (Stage) node.getScene().getWindow();
-        Scene scene = new Scene(FXMLLoader.load(Objects.requireNonNull(getClass().getResource("home.fxml"))));
-        stage.setScene(scene);
-        stage.show();
+        Navigator.getInstance().show(Navigator.HOME);
     }
 }
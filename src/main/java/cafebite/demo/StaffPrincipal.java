@@ -0,0 +1,25 @@
+package cafebite.demo;
+
+/**
+ * The staff member who is signed in on this terminal.
+ * Made once at login so screens do not have to look the staff member up again.
+ *
+ * @param staffId  the ID of the staff member
+ * @param fullName the full name of the staff member
+ * @param role     the staff type, such as Waiter or Chef
+ *
+ * @author Emmanuel Nwokoro
+ * @version 1.0
+ */
+public record StaffPrincipal(String staffId, String fullName, String role) {
+
+    /**
+     * Makes a principal from a stored staff record.
+     *
+     * @param record the staff record that passed the login check
+     * @return the principal for that staff member
+     */
+    public static StaffPrincipal of(StaffRecord record) {
+        return new StaffPrincipal(record.staffId(), record.fullName(), record.staffType());
+    }
+}
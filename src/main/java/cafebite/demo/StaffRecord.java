@@ -0,0 +1,36 @@
+package cafebite.demo;
+
+/**
+ * Holds one row of the staff sheet as an immutable value.
+ * Used by the staff repository so lookups do not touch the Excel file.
+ *
+ * @param firstName the first name of the staff member
+ * @param lastName  the last name of the staff member
+ * @param staffId   the unique ID of the staff member
+ * @param password  the password of the staff member
+ * @param staffType the type of staff role
+ *
+ * @author Emmanuel Nwokoro
+ * @version 1.0
+ */
+public record StaffRecord(String firstName, String lastName, String staffId,
+                          String password, String staffType) {
+
+    /**
+     * Gets the full name of the staff member, combining first and last name.
+     *
+     * @return the full name of the staff member
+     */
+    public String fullName() {
+        return firstName + " " + lastName;
+    }
+
+    /**
+     * Turns this record into a StaffMember for the staff details screen.
+     *
+     * @return a new StaffMember with the same details
+     */
+    public StaffMember toStaffMember() {
+        return new StaffMember(firstName, lastName, staffId, staffType, "");
+    }
+}
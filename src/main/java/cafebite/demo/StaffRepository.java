@@ -0,0 +1,228 @@
+package cafebite.demo;
+
+import cafebite.demo.Storage.RecordCodec;
+import cafebite.demo.Storage.Repositories;
+import cafebite.demo.Storage.Repository;
+import cafebite.demo.Storage.SheetReader;
+import cafebite.demo.Storage.WriteBuffer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the staff sheet in memory so logins and lookups do not parse the Excel file.
+ * The staff are loaded once into a map keyed by Staff ID. Reads are map lookups.
+ * New staff are written straight through to the staff store, but edits and deletes are
+ * held in a {@link WriteBuffer} and written together, {@code cafebite.staff.writeDelaySeconds}
+ * seconds (5 by default) after the first one or when {@link #flush()} is called.
+ *
+ * @author Emmanuel Nwokoro
+ * @version 1.0
+ */
+public final class StaffRepository {
+    private static final String EXCEL_FILE = "StaffData.xlsx";
+    private static final long WRITE_DELAY_SECONDS = Long.getLong("cafebite.staff.writeDelaySeconds", 5);
+
+    /**
+     * How a staff member is laid out in the staff sheet.
+     */
+    private static final RecordCodec<StaffRecord> CODEC = new RecordCodec<>() {
+        @Override
+        public String sheetName() {
+            return "StaffData";
+        }
+
+        @Override
+        public String[] headers() {
+            return new String[] {"First Name", "Last Name", "Staff ID", "Password", "Staff Type"};
+        }
+
+        @Override
+        public String key(StaffRecord record) {
+            return record.staffId();
+        }
+
+        @Override
+        public Object[] toCells(StaffRecord record) {
+            return new Object[] {record.firstName(), record.lastName(), record.staffId(),
+                    record.password(), record.staffType()};
+        }
+
+        @Override
+        public StaffRecord fromCells(String[] cells) {
+            return new StaffRecord(SheetReader.cell(cells, 0), SheetReader.cell(cells, 1),
+                    SheetReader.cell(cells, 2), SheetReader.cell(cells, 3), SheetReader.cell(cells, 4));
+        }
+    };
+
+    private static StaffRepository instance;
+
+    private final Repository<StaffRecord> store;
+    private final WriteBuffer<StaffRecord> writes;
+    private Map<String, StaffRecord> staffById;
+
+    private StaffRepository(Repository<StaffRecord> store) {
+        this.store = store;
+        this.writes = new WriteBuffer<>(store, StaffRecord::staffId, WRITE_DELAY_SECONDS * 1000);
+    }
+
+    /**
+     * Gets the shared repository for the staff Excel file.
+     *
+     * @return the staff repository
+     */
+    public static synchronized StaffRepository getInstance() {
+        if (instance == null) {
+            instance = new StaffRepository(Repositories.open(EXCEL_FILE, CODEC));
+        }
+        return instance;
+    }
+
+    /**
+     * Finds a staff member by their ID.
+     *
+     * @param staffId the ID of the staff
+     * @return the staff record, or null if not found
+     * @throws IOException if the staff store cannot be read
+     */
+    public synchronized StaffRecord find(String staffId) throws IOException {
+        return staffId == null ? null : index().get(staffId);
+    }
+
+    /**
+     * Gets every staff member in the order they appear in the sheet.
+     *
+     * @return a list of all staff records
+     * @throws IOException if the staff store cannot be read
+     */
+    public synchronized List<StaffRecord> findAll() throws IOException {
+        return new ArrayList<>(index().values());
+    }
+
+    /**
+     * Adds a new staff member at the end of the sheet, unless the Staff ID is already in use.
+     * The check and the write happen under the same lock, so two sign-ups with the
+     * same ID cannot both get in.
+     *
+     * @param record the staff member to add
+     * @return true if the staff member was added, false if the Staff ID is already in use
+     * @throws IOException if the staff store cannot be written
+     */
+    public synchronized boolean insert(StaffRecord record) throws IOException {
+        Map<String, StaffRecord> staff = index();
+        if (staff.containsKey(record.staffId())) {
+            return false;
+        }
+        if (writes.pendingCount() > 0) {
+            // A held back delete or rename may still hold this ID in the store
+            writes.flush();
+        }
+        store.insert(record);
+        staff.put(record.staffId(), record);
+        return true;
+    }
+
+    /**
+     * Replaces the details of an existing staff member.
+     * The password is kept as it is when the new record has none.
+     * The Staff ID can only be changed to one that is not already in use.
+     * The change is seen straight away but written to the store later.
+     *
+     * @param staffId the current ID of the staff member
+     * @param record  the new details
+     * @return true if the staff member was found and updated, false if not found or the new ID is taken
+     * @throws IOException if the staff store cannot be read
+     */
+    public synchronized boolean update(String staffId, StaffRecord record) throws IOException {
+        Map<String, StaffRecord> staff = index();
+        StaffRecord existing = staff.get(staffId);
+        if (existing == null || (!staffId.equals(record.staffId()) && staff.containsKey(record.staffId()))) {
+            return false;
+        }
+        if (record.password() == null || record.password().isEmpty()) {
+            record = new StaffRecord(record.firstName(), record.lastName(), record.staffId(),
+                    existing.password(), record.staffType());
+        }
+        writes.update(staffId, record);
+        if (!staffId.equals(record.staffId())) {
+            // Rebuild so the changed ID keeps the staff member's place in the list
+            Map<String, StaffRecord> rebuilt = new LinkedHashMap<>();
+            for (StaffRecord each : staff.values()) {
+                rebuilt.put(each == existing ? record.staffId() : each.staffId(),
+                        each == existing ? record : each);
+            }
+            staffById = rebuilt;
+        } else {
+            staff.put(staffId, record);
+        }
+        return true;
+    }
+
+    /**
+     * Removes a staff member.
+     * The change is seen straight away but written to the store later.
+     *
+     * @param staffId the ID of the staff to delete
+     * @return true if the staff member was found and deleted
+     * @throws IOException if the staff store cannot be read
+     */
+    public synchronized boolean delete(String staffId) throws IOException {
+        Map<String, StaffRecord> staff = index();
+        if (staff.remove(staffId) == null) {
+            return false;
+        }
+        writes.delete(staffId);
+        return true;
+    }
+
+    /**
+     * Writes every held back edit and delete to the staff store now, in one pass.
+     *
+     * @return the number of staff members written
+     * @throws IOException if the staff store cannot be written
+     */
+    public int flush() throws IOException {
+        return writes.flush();
+    }
+
+    /**
+     * Counts the staff members with edits or deletes that are not written yet.
+     *
+     * @return the number of staff members waiting to be written
+     */
+    public int getPendingCount() {
+        return writes.pendingCount();
+    }
+
+    /**
+     * Writes any held back changes, then throws away the cached staff so the next
+     * call reads the store again.
+     */
+    public synchronized void reload() {
+        try {
+            writes.flush();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        staffById = null;
+    }
+
+    /**
+     * Gets the cached map of staff, loading the store the first time.
+     * Nothing is cached if the store cannot be read, so the next call tries again.
+     *
+     * @return the staff records keyed by Staff ID
+     * @throws IOException if the staff store cannot be read
+     */
+    private Map<String, StaffRecord> index() throws IOException {
+        if (staffById == null) {
+            Map<String, StaffRecord> staff = new LinkedHashMap<>();
+            store.forEach(record -> staff.put(record.staffId(), record));
+            staffById = staff;
+        }
+        return staffById;
+    }
+}
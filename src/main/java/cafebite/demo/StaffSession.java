@@ -0,0 +1,41 @@
+package cafebite.demo;
+
+/**
+ * Keeps track of the staff member who is signed in on this terminal.
+ * The login screen starts the session and the dashboards read it,
+ * so the staff member is only looked up once per shift change.
+ *
+ * @author Emmanuel Nwokoro
+ * @version 1.0
+ */
+public final class StaffSession {
+    private static volatile StaffPrincipal current;
+
+    private StaffSession() {
+    }
+
+    /**
+     * Starts a session for the staff member who just logged in.
+     *
+     * @param principal the signed-in staff member
+     */
+    public static void start(StaffPrincipal principal) {
+        current = principal;
+    }
+
+    /**
+     * Gets the signed-in staff member.
+     *
+     * @return the signed-in staff member, or null if nobody is signed in
+     */
+    public static StaffPrincipal getCurrent() {
+        return current;
+    }
+
+    /**
+     * Ends the session when the staff member goes back to the login screen.
+     */
+    public static void end() {
+        current = null;
+    }
+}
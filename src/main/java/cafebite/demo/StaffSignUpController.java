@@ -2,14 +2,8 @@ package cafebite.demo;
 
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import javafx.scene.Node;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
-import javafx.stage.Stage;
 import javafx.event.ActionEvent;
-import javafx.fxml.FXMLLoader;
 import java.io.IOException;
-import java.util.Objects;
 
 /**
  * Manages the sign-up process for new staff in the application.
@@ -45,11 +39,13 @@ public class StaffSignUpController {
     private void handleSignUp(ActionEvent event) throws IOException {
         String staffType = staffTypeComboBox.getValue();
         if (staffType != null) {
-            boolean success = Staff.saveStaff(firstNameField.getText(), lastNameField.getText(),
+            Registration result = Staff.saveStaff(firstNameField.getText(), lastNameField.getText(),
                     staffIdField.getText(), passwordField.getText(), staffType);
-            if (success) {
+            if (result == Registration.SAVED) {
                 showAlert(Alert.AlertType.INFORMATION, "Sign-up successful. Please log in.");
                 navigateToLogin(event);  // Navigate back to login page after successful sign-up
+            } else if (result == Registration.DUPLICATE) {
+                showAlert(Alert.AlertType.ERROR, "That Staff ID is already in use.");
             } else {
                 showAlert(Alert.AlertType.ERROR, "Sign-up failed. Please try again.");
             }
@@ -76,11 +72,7 @@ public class StaffSignUpController {
      * @throws IOException if there is an issue loading the FXML file
      */
     private void navigateToLogin(ActionEvent event) throws IOException {
-        Parent root = FXMLLoader.load(Objects.requireNonNull(getClass().getResource("StaffLoginPage.fxml")));
-        Scene scene = new Scene(root);
-        Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-        stage.setScene(scene);
-        stage.show();
+        Navigator.getInstance().show(Navigator.STAFF_LOGIN);
     }
 
     /**
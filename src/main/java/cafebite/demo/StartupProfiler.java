@@ -0,0 +1,201 @@
+package cafebite.demo;
+
+import javafx.scene.Scene;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Times how long the application takes to start: how long until the first frame is on
+ * screen, and how long each start-up phase takes, whichever thread it runs on.
+ * The report is printed once the first frame is up and every phase has finished.
+ *
+ * @author Emmanuel Nwokoro
+ * @version 1.0
+ */
+public final class StartupProfiler {
+    private static StartupProfiler instance;
+
+    private final long startNanos = System.nanoTime();
+    private final List<String> phases = new ArrayList<>();
+    private long firstFrameNanos = -1;
+    private int running;
+    private boolean finished;
+    private boolean reported;
+
+    private StartupProfiler() {
+    }
+
+    /**
+     * Gets the profiler for this run. The clock starts the first time this is called.
+     *
+     * @return the start-up profiler
+     */
+    public static synchronized StartupProfiler getInstance() {
+        if (instance == null) {
+            instance = new StartupProfiler();
+        }
+        return instance;
+    }
+
+    /**
+     * Starts timing a phase. Close the phase when it is done, on any thread.
+     *
+     * @param name what the phase does
+     * @return the running phase
+     */
+    public synchronized Phase phase(String name) {
+        running++;
+        long start = System.nanoTime();
+        String thread = Thread.currentThread().getName();
+        boolean[] closed = new boolean[1];
+        return () -> {
+            synchronized (this) {
+                if (closed[0]) {
+                    return;
+                }
+                closed[0] = true;
+                phases.add(String.format("  %-28s %6d ms  (from %d ms, %s)", name, millis(System.nanoTime() - start),
+                        millis(start - startNanos), thread));
+                running--;
+                reportIfDone();
+            }
+        };
+    }
+
+    /**
+     * Times a phase that runs on the calling thread and gives back a result.
+     *
+     * @param name what the phase does
+     * @param step the work of the phase
+     * @param <T>  the type of result
+     * @param <E>  the type of exception the work can throw
+     * @return the result of the work
+     * @throws E if the work fails
+     */
+    public <T, E extends Exception> T time(String name, Step<T, E> step) throws E {
+        Phase phase = phase(name);
+        try {
+            return step.run();
+        } finally {
+            phase.close();
+        }
+    }
+
+    /**
+     * Times a phase that runs on the calling thread.
+     *
+     * @param name   what the phase does
+     * @param action the work of the phase
+     * @param <E>    the type of exception the work can throw
+     * @throws E if the work fails
+     */
+    public <E extends Exception> void time(String name, Action<E> action) throws E {
+        Phase phase = phase(name);
+        try {
+            action.run();
+        } finally {
+            phase.close();
+        }
+    }
+
+    /**
+     * Notes the time of the first frame the scene lays out.
+     *
+     * @param scene the scene that was just shown
+     */
+    public void watchFirstFrame(Scene scene) {
+        Runnable[] listener = new Runnable[1];
+        listener[0] = () -> {
+            scene.removePostLayoutPulseListener(listener[0]);
+            synchronized (this) {
+                if (firstFrameNanos < 0) {
+                    firstFrameNanos = System.nanoTime();
+                    reportIfDone();
+                }
+            }
+        };
+        scene.addPostLayoutPulseListener(listener[0]);
+    }
+
+    /**
+     * Says that no more phases will be started, so the report can be printed once
+     * the running phases and the first frame are done.
+     */
+    public synchronized void finish() {
+        finished = true;
+        reportIfDone();
+    }
+
+    /**
+     * Prints the timing report once everything it covers has happened.
+     */
+    private void reportIfDone() {
+        if (reported || !finished || running > 0 || firstFrameNanos < 0) {
+            return;
+        }
+        reported = true;
+        StringBuilder report = new StringBuilder("CafeBite start-up\n");
+        Instant processStart = ProcessHandle.current().info().startInstant().orElse(null);
+        if (processStart != null) {
+            long sinceProcess = Duration.between(processStart, Instant.now()).toMillis()
+                    - millis(System.nanoTime() - firstFrameNanos);
+            report.append(String.format("  %-28s %6d ms%n", "Process start to first frame", sinceProcess));
+        }
+        report.append(String.format("  %-28s %6d ms%n", "Start to first frame", millis(firstFrameNanos - startNanos)));
+        for (String phase : phases) {
+            report.append(phase).append('\n');
+        }
+        System.out.print(report);
+    }
+
+    private static long millis(long nanos) {
+        return nanos / 1_000_000;
+    }
+
+    /**
+     * The work of a timed phase that gives back a result.
+     *
+     * @param <T> the type of result
+     * @param <E> the type of exception the work can throw
+     */
+    @FunctionalInterface
+    public interface Step<T, E extends Exception> {
+        /**
+         * Does the work.
+         *
+         * @return the result
+         * @throws E if the work fails
+         */
+        T run() throws E;
+    }
+
+    /**
+     * The work of a timed phase without a result.
+     *
+     * @param <E> the type of exception the work can throw
+     */
+    @FunctionalInterface
+    public interface Action<E extends Exception> {
+        /**
+         * Does the work.
+         *
+         * @throws E if the work fails
+         */
+        void run() throws E;
+    }
+
+    /**
+     * A start-up phase that is being timed.
+     */
+    @FunctionalInterface
+    public interface Phase extends AutoCloseable {
+        /**
+         * Stops timing the phase. Closing it again does nothing.
+         */
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,122 @@
+package cafebite.demo.Storage;
+
+import javafx.application.Platform;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Runs saves and deletes away from the JavaFX Application Thread, so the screen
+ * never freezes while a workbook or record file is being written.
+ * Each job runs on its own virtual thread and its result comes back as a
+ * {@link CompletableFuture}. Use {@link #onFxThread} to update the screen once it is done.
+ *
+ * @author Aquib Afzal
+ * @version 1.0
+ */
+public final class AsyncPersistence {
+    private static final ExecutorService EXECUTOR = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("persistence-", 0).factory());
+
+    private AsyncPersistence() {
+    }
+
+    /**
+     * Runs a storage job in the background.
+     *
+     * @param job the job to run
+     * @param <T> the type of result
+     * @return a future that completes with the job's result, or with its exception
+     */
+    public static <T> CompletableFuture<T> submit(Job<T> job) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return job.run();
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, EXECUTOR);
+    }
+
+    /**
+     * Runs a storage job that has no result in the background.
+     *
+     * @param action the job to run
+     * @return a future that completes when the job has finished
+     */
+    public static CompletableFuture<Void> run(Action action) {
+        return submit(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Calls back on the JavaFX Application Thread when a job is done.
+     * Failures are printed and then passed to the failure callback.
+     *
+     * @param future    the job's future
+     * @param onSuccess called with the result if the job worked
+     * @param onFailure called with the cause if the job failed
+     * @param <T>       the type of result
+     */
+    public static <T> void onFxThread(CompletableFuture<T> future, Consumer<? super T> onSuccess,
+                                      Consumer<Throwable> onFailure) {
+        future.whenComplete((result, error) -> Platform.runLater(() -> {
+            if (error == null) {
+                onSuccess.accept(result);
+                return;
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+            cause.printStackTrace();
+            onFailure.accept(cause);
+        }));
+    }
+
+    /**
+     * Waits for the jobs that are still running, so nothing is lost when the app closes.
+     */
+    public static void shutdown() {
+        EXECUTOR.shutdown();
+        try {
+            EXECUTOR.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A storage job with a result.
+     *
+     * @param <T> the type of result
+     */
+    @FunctionalInterface
+    public interface Job<T> {
+        /**
+         * Does the work.
+         *
+         * @return the result
+         * @throws IOException if the store cannot be read or written
+         */
+        T run() throws IOException;
+    }
+
+    /**
+     * A storage job without a result.
+     */
+    @FunctionalInterface
+    public interface Action {
+        /**
+         * Does the work.
+         *
+         * @throws IOException if the store cannot be read or written
+         */
+        void run() throws IOException;
+    }
+}
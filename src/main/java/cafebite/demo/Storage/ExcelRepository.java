@@ -0,0 +1,256 @@
+package cafebite.demo.Storage;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Keeps records in an Excel workbook, the way CafeBite has always stored its data.
+ * New records are appended to the workbook's {@link Journal}; the workbook itself is
+ * streamed with {@link SheetReader} and {@link SheetWriter} whenever it is read or rewritten.
+ * Deletes are journaled as tombstones, so they do not rewrite the workbook and no row moves;
+ * reads leave the deleted records out, and {@link #compact()} drops them in bulk.
+ * The keys of the live records are kept in memory once the first delete needs them,
+ * so a delete can tell whether its key exists without reading the workbook again.
+ *
+ * @param <T> the type of record
+ *
+ * @author Aquib Afzal
+ * @version 1.0
+ */
+public final class ExcelRepository<T> implements Repository<T> {
+    private final String filePath;
+    private final RecordCodec<T> codec;
+    private final Journal journal;
+    /**
+     * The keys of the live records, or null until a delete first needs them. Guarded by this repository.
+     */
+    private Set<String> liveKeys;
+
+    /**
+     * Makes a repository for one workbook.
+     *
+     * @param filePath the path to the Excel workbook
+     * @param codec    how records are laid out in the sheet
+     */
+    public ExcelRepository(String filePath, RecordCodec<T> codec) {
+        this.filePath = filePath;
+        this.codec = codec;
+        this.journal = Journal.forWorkbook(filePath);
+    }
+
+    @Override
+    public void forEach(Consumer<? super T> action) throws IOException {
+        journal.read(journaled -> {
+            forEachLive(journaled, action);
+            return null;
+        });
+    }
+
+    @Override
+    public T find(String key) throws IOException {
+        Object[] match = new Object[1];
+        forEach(record -> {
+            if (match[0] == null && key.equals(codec.key(record))) {
+                match[0] = record;
+            }
+        });
+        @SuppressWarnings("unchecked")
+        T record = (T) match[0];
+        return record;
+    }
+
+    @Override
+    public void insert(T record) throws IOException {
+        journal.append(codec.toText(record));
+        synchronized (this) {
+            if (liveKeys != null) {
+                liveKeys.add(codec.key(record));
+            }
+        }
+    }
+
+    @Override
+    public boolean update(String key, T record) throws IOException {
+        Map<String, T> changes = new HashMap<>();
+        changes.put(key, record);
+        return rewrite(changes) == 1;
+    }
+
+    /**
+     * Deletes a record by appending a tombstone to the journal, without rewriting the workbook.
+     * The key is looked up in the live keys first, and a key that does not exist
+     * returns false without writing anything.
+     */
+    @Override
+    public synchronized boolean delete(String key) throws IOException {
+        if (!keys().contains(key)) {
+            return false;
+        }
+        journal.appendTombstone(key);
+        liveKeys.remove(key);
+        return true;
+    }
+
+    /**
+     * Applies every change in one rewrite of the workbook.
+     * A batch of only deletes is journaled as tombstones instead, without rewriting
+     * the workbook, and only the keys that exist are deleted and counted.
+     */
+    @Override
+    public int applyAll(Map<String, T> changes) throws IOException {
+        if (changes.isEmpty()) {
+            return 0;
+        }
+        if (changes.values().stream().anyMatch(record -> record != null)) {
+            return rewrite(changes);
+        }
+        synchronized (this) {
+            Set<String> keys = keys();
+            int found = 0;
+            for (String key : changes.keySet()) {
+                if (keys.contains(key)) {
+                    journal.appendTombstone(key);
+                    keys.remove(key);
+                    found++;
+                }
+            }
+            return found;
+        }
+    }
+
+    @Override
+    public int compact() throws IOException {
+        return journal.compact(rows -> writeAll(rows, Map.of()));
+    }
+
+    /**
+     * Rewrites the workbook with some records changed, folding in the journal at the same time.
+     *
+     * @param changes the new record for each key, or null to remove it
+     * @return the number of keys that were found
+     * @throws IOException if the workbook cannot be written
+     */
+    private int rewrite(Map<String, T> changes) throws IOException {
+        Set<String> found = new HashSet<>();
+        journal.rewrite(rows -> found.addAll(writeAll(rows, changes)));
+        synchronized (this) {
+            if (liveKeys != null) {
+                // Remove every changed key before adding the new ones, so a record renamed to a deleted key stays
+                liveKeys.removeAll(found);
+                for (String key : found) {
+                    T record = changes.get(key);
+                    if (record != null) {
+                        liveKeys.add(codec.key(record));
+                    }
+                }
+            }
+        }
+        return found.size();
+    }
+
+    /**
+     * Gets the keys of the live records, reading them the first time.
+     * Only call it while holding the lock on this repository.
+     *
+     * @return the live keys
+     * @throws IOException if the workbook cannot be read
+     */
+    private Set<String> keys() throws IOException {
+        if (liveKeys == null) {
+            Set<String> keys = new HashSet<>();
+            forEach(record -> keys.add(codec.key(record)));
+            liveKeys = keys;
+        }
+        return liveKeys;
+    }
+
+    /**
+     * Streams the existing rows and the journaled rows into a new workbook,
+     * dropping deleted records and changing the records with the given keys on the way.
+     *
+     * @param journaled the journaled rows to add at the end
+     * @param changes   the new record for each key, or null to remove it
+     * @return the keys that were found
+     * @throws IOException if the workbook cannot be written
+     */
+    private Set<String> writeAll(List<String[]> journaled, Map<String, T> changes) throws IOException {
+        Set<String> found = new HashSet<>();
+        try (SheetWriter writer = new SheetWriter(filePath, codec.sheetName(), codec.headers())) {
+            Consumer<T> copy = record -> {
+                String key = codec.key(record);
+                if (changes.containsKey(key)) {
+                    found.add(key);
+                    record = changes.get(key);
+                }
+                if (record != null) {
+                    writer.row(codec.toCells(record));
+                }
+            };
+            forEachLive(journaled, copy);
+            if (!found.isEmpty() || !journaled.isEmpty()) {
+                writer.commit();
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Streams the records in the workbook and then the journaled records,
+     * leaving out every record that a later tombstone deletes.
+     *
+     * @param journaled the journaled rows, including tombstones
+     * @param action    called for each live record
+     * @throws IOException if the workbook cannot be read
+     */
+    private void forEachLive(List<String[]> journaled, Consumer<? super T> action) throws IOException {
+        // The position of the last tombstone for each deleted key
+        Map<String, Integer> deletedAt = new HashMap<>();
+        for (int i = 0; i < journaled.size(); i++) {
+            String key = Journal.tombstoneKey(journaled.get(i));
+            if (key != null) {
+                deletedAt.put(key, i);
+            }
+        }
+        SheetReader.forEachRow(filePath, codec.sheetName(), (rowNum, cells) -> {
+            // Skip the header row
+            T record = rowNum > 0 ? readRow(cells) : null;
+            if (record != null && !deletedAt.containsKey(codec.key(record))) {
+                action.accept(record);
+            }
+        });
+        for (int i = 0; i < journaled.size(); i++) {
+            String[] row = journaled.get(i);
+            if (Journal.tombstoneKey(row) != null) {
+                continue;
+            }
+            T record = codec.fromCells(row);
+            if (deletedAt.getOrDefault(codec.key(record), -1) < i) {
+                action.accept(record);
+            }
+        }
+    }
+
+    /**
+     * Reads a record from a sheet row, skipping the blank rows
+     * that some spreadsheet tools leave behind.
+     *
+     * @param cells the row
+     * @return the record, or null if the row has no key
+     */
+    private T readRow(String[] cells) {
+        boolean blank = true;
+        for (String cell : cells) {
+            blank &= cell.isEmpty();
+        }
+        if (blank) {
+            return null;
+        }
+        T record = codec.fromCells(cells);
+        return codec.key(record).isEmpty() ? null : record;
+    }
+}
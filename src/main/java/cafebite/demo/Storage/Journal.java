@@ -0,0 +1,322 @@
+package cafebite.demo.Storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An append-only, line-delimited log of rows that belong to an Excel workbook.
+ * Adding a row is one append to the end of the journal file, no matter how big
+ * the workbook is. The rows are folded into the workbook later by {@link #compact}.
+ * Deleting a row is also one append: a tombstone line that names the key of the row,
+ * which readers use to hide it until compaction drops it for good.
+ * <p>
+ * Each line holds one row, with fields split by tabs. Tabs, new lines and
+ * backslashes inside a field are escaped with a backslash. A tombstone is a line
+ * whose first field is a NUL character followed by "deleted", and whose second field is the key.
+ *
+ * @author Aquib Afzal
+ * @version 1.0
+ */
+public final class Journal {
+    private static final Map<Path, Journal> JOURNALS = new ConcurrentHashMap<>();
+    private static final String TOMBSTONE = "\0deleted";
+
+    private final Path livePath;
+    private final Path pendingPath;
+    private final ReentrantLock compactLock = new ReentrantLock();
+    private FileChannel channel;
+
+    private Journal(Path livePath) {
+        this.livePath = livePath;
+        this.pendingPath = Paths.get(livePath + ".pending");
+    }
+
+    /**
+     * Gets the journal that sits next to the given workbook.
+     * "./OrderData.xlsx" is journaled in "./OrderData.journal".
+     *
+     * @param workbookPath the path to the Excel workbook
+     * @return the shared journal for that workbook
+     */
+    public static Journal forWorkbook(String workbookPath) {
+        String base = workbookPath.endsWith(".xlsx")
+                ? workbookPath.substring(0, workbookPath.length() - ".xlsx".length())
+                : workbookPath;
+        Path path = Paths.get(base + ".journal").toAbsolutePath().normalize();
+        return JOURNALS.computeIfAbsent(path, Journal::new);
+    }
+
+    /**
+     * Adds one row to the end of the journal and forces it to disk.
+     *
+     * @param fields the cell values of the row
+     * @throws IOException if the journal cannot be written
+     */
+    public synchronized void append(String... fields) throws IOException {
+        if (channel == null) {
+            channel = FileChannel.open(livePath, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            // Drop a last line cut short by a crash, so the next row does not join onto it
+            long end = lastLineEnd(channel);
+            if (end < channel.size()) {
+                channel.truncate(end);
+            }
+            channel.position(end);
+        }
+        ByteBuffer line = ByteBuffer.wrap(encode(fields).getBytes(StandardCharsets.UTF_8));
+        while (line.hasRemaining()) {
+            channel.write(line);
+        }
+        channel.force(false);
+    }
+
+    /**
+     * Marks the row with the given key as deleted, by adding a tombstone to the end of the journal.
+     * The row stays in the workbook, and any earlier journaled row keeps its place,
+     * until the next compaction leaves it out.
+     *
+     * @param key the key of the deleted row
+     * @throws IOException if the journal cannot be written
+     */
+    public void appendTombstone(String key) throws IOException {
+        append(TOMBSTONE, key);
+    }
+
+    /**
+     * Gets the key a journal row deletes, if the row is a tombstone.
+     *
+     * @param row a row from the journal
+     * @return the deleted key, or null if the row is an ordinary row
+     */
+    public static String tombstoneKey(String[] row) {
+        return row.length == 2 && TOMBSTONE.equals(row[0]) ? row[1] : null;
+    }
+
+    /**
+     * Reads the workbook together with the rows that are still in the journal.
+     * Compaction cannot run while the reader is working, so no row is seen twice.
+     *
+     * @param reader reads the workbook and then the given journal rows
+     * @param <T>    the type of result the reader makes
+     * @return whatever the reader returns
+     * @throws IOException if the workbook or the journal cannot be read
+     */
+    public <T> T read(Reader<T> reader) throws IOException {
+        compactLock.lock();
+        try {
+            List<String[]> rows = readRows(pendingPath);
+            synchronized (this) {
+                rows.addAll(readRows(livePath));
+            }
+            return reader.read(rows);
+        } finally {
+            compactLock.unlock();
+        }
+    }
+
+    /**
+     * Moves every journaled row into the workbook and empties the journal.
+     * New rows can still be appended while the workbook is being written.
+     * If an earlier compaction stopped half way, its rows are written first.
+     *
+     * @param target writes the rows into the workbook
+     * @return the number of rows moved
+     * @throws IOException if the rows cannot be written
+     */
+    public int compact(Target target) throws IOException {
+        compactLock.lock();
+        try {
+            synchronized (this) {
+                if (!Files.exists(pendingPath) && (!Files.exists(livePath) || Files.size(livePath) == 0)) {
+                    return 0;
+                }
+            }
+            return rewrite(target);
+        } finally {
+            compactLock.unlock();
+        }
+    }
+
+    /**
+     * Rewrites the workbook while no other compaction or read can run.
+     * The target is always called, with the journaled rows that have to be
+     * written into the workbook (possibly none), so it can also change existing rows.
+     *
+     * @param target rewrites the workbook, adding the given rows
+     * @return the number of journaled rows moved
+     * @throws IOException if the workbook cannot be written
+     */
+    public int rewrite(Target target) throws IOException {
+        compactLock.lock();
+        try {
+            synchronized (this) {
+                if (!Files.exists(pendingPath) && Files.exists(livePath)) {
+                    if (channel != null) {
+                        channel.close();
+                        channel = null;
+                    }
+                    Files.move(livePath, pendingPath, StandardCopyOption.ATOMIC_MOVE);
+                }
+            }
+            List<String[]> rows = readRows(pendingPath);
+            target.write(rows);
+            Files.deleteIfExists(pendingPath);
+            return rows.size();
+        } finally {
+            compactLock.unlock();
+        }
+    }
+
+    /**
+     * Finds where the last complete line of a journal file ends.
+     *
+     * @param channel the open journal file
+     * @return the offset just after the last line break, or 0 if there is none
+     * @throws IOException if the file cannot be read
+     */
+    private static long lastLineEnd(FileChannel channel) throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocate(4096);
+        long end = channel.size();
+        while (end > 0) {
+            long start = Math.max(0, end - chunk.capacity());
+            chunk.clear().limit((int) (end - start));
+            while (chunk.hasRemaining()) {
+                if (channel.read(chunk, start + chunk.position()) < 0) {
+                    break;
+                }
+            }
+            for (int i = chunk.position() - 1; i >= 0; i--) {
+                if (chunk.get(i) == '\n') {
+                    return start + i + 1;
+                }
+            }
+            end = start;
+        }
+        return 0;
+    }
+
+    /**
+     * Reads every complete line of a journal file.
+     * A last line without a line break was cut short by a crash and is skipped.
+     *
+     * @param path the journal file to read
+     * @return the rows in the file, oldest first
+     * @throws IOException if the file cannot be read
+     */
+    private static List<String[]> readRows(Path path) throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        if (!Files.exists(path)) {
+            return rows;
+        }
+        String text = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+        int start = 0;
+        int end;
+        while ((end = text.indexOf('\n', start)) != -1) {
+            if (end > start) {
+                rows.add(decode(text.substring(start, end)));
+            }
+            start = end + 1;
+        }
+        return rows;
+    }
+
+    /**
+     * Turns a row into one journal line, ending with a line break.
+     *
+     * @param fields the cell values of the row
+     * @return the escaped line
+     */
+    static String encode(String[] fields) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                line.append('\t');
+            }
+            String field = fields[i] == null ? "" : fields[i];
+            for (int c = 0; c < field.length(); c++) {
+                char ch = field.charAt(c);
+                switch (ch) {
+                    case '\\' -> line.append("\\\\");
+                    case '\t' -> line.append("\\t");
+                    case '\n' -> line.append("\\n");
+                    case '\r' -> line.append("\\r");
+                    default -> line.append(ch);
+                }
+            }
+        }
+        return line.append('\n').toString();
+    }
+
+    /**
+     * Turns one journal line, without its line break, back into a row.
+     *
+     * @param line the escaped line
+     * @return the cell values of the row
+     */
+    static String[] decode(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        for (int c = 0; c < line.length(); c++) {
+            char ch = line.charAt(c);
+            if (ch == '\t') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (ch == '\\' && c + 1 < line.length()) {
+                char next = line.charAt(++c);
+                field.append(switch (next) {
+                    case 't' -> '\t';
+                    case 'n' -> '\n';
+                    case 'r' -> '\r';
+                    default -> next;
+                });
+            } else {
+                field.append(ch);
+            }
+        }
+        fields.add(field.toString());
+        return fields.toArray(new String[0]);
+    }
+
+    /**
+     * Reads a workbook and the journal rows that have not been folded into it yet.
+     *
+     * @param <T> the type of result
+     */
+    @FunctionalInterface
+    public interface Reader<T> {
+        /**
+         * Reads the workbook, then the journal rows.
+         *
+         * @param journaled the rows still in the journal, oldest first, including tombstones
+         * @return the result
+         * @throws IOException if the workbook cannot be read
+         */
+        T read(List<String[]> journaled) throws IOException;
+    }
+
+    /**
+     * Writes journal rows into the workbook during compaction.
+     */
+    @FunctionalInterface
+    public interface Target {
+        /**
+         * Adds the rows to the end of the workbook, leaving out the rows their tombstones delete.
+         *
+         * @param rows the rows to add, oldest first, including tombstones
+         * @throws IOException if the workbook cannot be written
+         */
+        void write(List<String[]> rows) throws IOException;
+    }
+}
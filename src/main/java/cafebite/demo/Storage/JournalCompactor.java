@@ -0,0 +1,94 @@
+package cafebite.demo.Storage;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Folds journals into their Excel workbooks on a background thread,
+ * so managers see up-to-date sheets without checkouts or bookings waiting on a rewrite.
+ * The interval can be changed with the {@code cafebite.compact.minutes} system property.
+ *
+ * @author Aquib Afzal
+ * @version 1.0
+ */
+public final class JournalCompactor {
+    private static final long INTERVAL_MINUTES = Long.getLong("cafebite.compact.minutes", 5);
+    private static final List<Task> TASKS = new CopyOnWriteArrayList<>();
+    private static ScheduledExecutorService executor;
+
+    private JournalCompactor() {
+    }
+
+    /**
+     * Adds a compaction job that runs on every pass.
+     *
+     * @param task the job, usually a model's compact method for its workbook
+     */
+    public static void register(Task task) {
+        TASKS.add(task);
+    }
+
+    /**
+     * Starts running the compaction jobs every few minutes.
+     * Calling it again while it is running does nothing.
+     */
+    public static synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "journal-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(JournalCompactor::compactAll,
+                INTERVAL_MINUTES, INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Stops the background thread and runs one last pass, so nothing is left in the journals.
+     */
+    public static synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            executor = null;
+        }
+        compactAll();
+    }
+
+    /**
+     * Runs every registered compaction job once.
+     * A job that fails is reported and tried again on the next pass.
+     */
+    public static void compactAll() {
+        for (Task task : TASKS) {
+            try {
+                task.compact();
+            } catch (IOException | RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * A compaction job for one workbook.
+     */
+    @FunctionalInterface
+    public interface Task {
+        /**
+         * Moves the journaled rows into the workbook.
+         *
+         * @throws IOException if the workbook cannot be written
+         */
+        void compact() throws IOException;
+    }
+}
@@ -0,0 +1,68 @@
+package cafebite.demo.Storage;
+
+/**
+ * Describes how one kind of record is laid out as a row of cells.
+ * Every {@link Repository} implementation stores records through a codec,
+ * so the Excel sheet and the local record file hold the same columns.
+ *
+ * @param <T> the type of record
+ *
+ * @author Aquib Afzal
+ * @version 1.0
+ */
+public interface RecordCodec<T> {
+
+    /**
+     * Gets the name of the sheet the records are kept in.
+     *
+     * @return the sheet name
+     */
+    String sheetName();
+
+    /**
+     * Gets the column headers, in column order.
+     *
+     * @return the headers
+     */
+    String[] headers();
+
+    /**
+     * Gets the key that identifies a record, such as a Staff ID or username.
+     *
+     * @param record the record
+     * @return the key
+     */
+    String key(T record);
+
+    /**
+     * Turns a record into cell values. Numbers are kept as numbers
+     * so they stay numeric in the Excel sheet.
+     *
+     * @param record the record
+     * @return the cell values, in column order
+     */
+    Object[] toCells(T record);
+
+    /**
+     * Reads a record back from its cells. Cells missing at the end of the row are blank.
+     *
+     * @param cells the cell values as text, in column order
+     * @return the record
+     */
+    T fromCells(String[] cells);
+
+    /**
+     * Turns a record into text cells for a journal or record file.
+     *
+     * @param record the record
+     * @return the cell values as text
+     */
+    default String[] toText(T record) {
+        Object[] cells = toCells(record);
+        String[] text = new String[cells.length];
+        for (int i = 0; i < cells.length; i++) {
+            text[i] = cells[i] == null ? "" : cells[i].toString();
+        }
+        return text;
+    }
+}
@@ -0,0 +1,296 @@
+package cafebite.demo.Storage;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SequencedMap;
+import java.util.function.Consumer;
+
+/**
+ * Keeps records in a local, append-only record file with an in-memory index.
+ * Every write is one append, and every lookup by key is one positional read.
+ * <p>
+ * Each entry in the file is a 4-byte length, a 1-byte kind (put or delete) and
+ * the row in journal format, with the key as its first field. The index maps
+ * each live key to the offset of its latest put. {@link #compact()} rewrites the
+ * file with only the live entries.
+ *
+ * @param <T> the type of record
+ *
+ * @author Aquib Afzal
+ * @version 1.0
+ */
+public final class RecordFileRepository<T> implements Repository<T> {
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final int HEADER_BYTES = Integer.BYTES + 1;
+
+    private final Path path;
+    private final RecordCodec<T> codec;
+    private final SequencedMap<String, Long> index = new LinkedHashMap<>();
+    private FileChannel channel;
+    private long size;
+    private int dead;
+
+    /**
+     * Opens the record file, creating it if needed, and builds its index.
+     *
+     * @param filePath the path to the record file
+     * @param codec    how records are laid out as rows
+     * @throws IOException if the file cannot be opened or read
+     */
+    public RecordFileRepository(String filePath, RecordCodec<T> codec) throws IOException {
+        this.path = Paths.get(filePath);
+        this.codec = codec;
+        open();
+    }
+
+    @Override
+    public synchronized void forEach(Consumer<? super T> action) throws IOException {
+        for (long offset : new ArrayList<>(index.values())) {
+            action.accept(readAt(offset));
+        }
+    }
+
+    @Override
+    public synchronized T find(String key) throws IOException {
+        Long offset = index.get(key);
+        return offset == null ? null : readAt(offset);
+    }
+
+    @Override
+    public synchronized int count() {
+        return index.size();
+    }
+
+    /**
+     * Reads one page of records by walking the index from either end,
+     * so only the records on the page are read from the file.
+     */
+    @Override
+    public synchronized List<T> page(SortOrder order, int offset, int limit) throws IOException {
+        List<T> page = new ArrayList<>(Math.min(limit, 256));
+        Iterator<Long> offsets = (order == SortOrder.NEWEST_FIRST
+                ? index.sequencedValues().reversed() : index.sequencedValues()).iterator();
+        for (int skipped = 0; skipped < offset && offsets.hasNext(); skipped++) {
+            offsets.next();
+        }
+        while (offsets.hasNext() && page.size() < limit) {
+            page.add(readAt(offsets.next()));
+        }
+        return page;
+    }
+
+    @Override
+    public synchronized void insert(T record) throws IOException {
+        String key = codec.key(record);
+        if (index.containsKey(key)) {
+            dead++;
+        }
+        index.put(key, append(PUT, withKey(key, codec.toText(record))));
+    }
+
+    /**
+     * Replaces a record, keeping its place.
+     * Returns false without writing anything if the new key belongs to another record.
+     */
+    @Override
+    public synchronized boolean update(String key, T record) throws IOException {
+        if (!index.containsKey(key)) {
+            return false;
+        }
+        String newKey = codec.key(record);
+        if (newKey.equals(key)) {
+            index.put(key, append(PUT, withKey(key, codec.toText(record))));
+            dead++;
+            return true;
+        }
+        if (index.containsKey(newKey)) {
+            return false; // Renaming onto another record would lose it
+        }
+        append(DELETE, new String[] { key });
+        long offset = append(PUT, withKey(newKey, codec.toText(record)));
+        // Keep the record in its old place in the index
+        Map<String, Long> reordered = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : index.entrySet()) {
+            if (entry.getKey().equals(key)) {
+                reordered.put(newKey, offset);
+            } else {
+                reordered.put(entry.getKey(), entry.getValue());
+            }
+        }
+        index.clear();
+        index.putAll(reordered);
+        dead += 2;
+        return true;
+    }
+
+    @Override
+    public synchronized boolean delete(String key) throws IOException {
+        if (!index.containsKey(key)) {
+            return false;
+        }
+        append(DELETE, new String[] { key });
+        index.remove(key);
+        dead += 2;
+        return true;
+    }
+
+    /**
+     * Rewrites the record file with only the latest version of each live record.
+     *
+     * @return the number of dead entries dropped
+     * @throws IOException if the file cannot be rewritten
+     */
+    @Override
+    public synchronized int compact() throws IOException {
+        if (dead == 0) {
+            return 0;
+        }
+        Path temp = Paths.get(path + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (long offset : index.values()) {
+                ByteBuffer entry = ByteBuffer.allocate(HEADER_BYTES + readLength(offset));
+                readFully(entry, offset);
+                entry.flip();
+                while (entry.hasRemaining()) {
+                    out.write(entry);
+                }
+            }
+            out.force(true);
+        }
+        int dropped = dead;
+        channel.close();
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        open();
+        return dropped;
+    }
+
+    /**
+     * Closes the record file. The repository cannot be used after this.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Opens the file and rebuilds the index by reading every entry once.
+     * An entry cut short by a crash is dropped from the end of the file.
+     *
+     * @throws IOException if the file cannot be read
+     */
+    private void open() throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        index.clear();
+        dead = 0;
+        long position = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            while (true) {
+                int length;
+                byte kind;
+                byte[] payload;
+                try {
+                    length = in.readInt();
+                    kind = in.readByte();
+                    payload = new byte[length];
+                    in.readFully(payload);
+                } catch (EOFException e) {
+                    break;
+                }
+                String key = Journal.decode(new String(payload, StandardCharsets.UTF_8))[0];
+                if (kind == PUT) {
+                    if (index.put(key, position) != null) {
+                        dead++;
+                    }
+                } else if (index.remove(key) != null) {
+                    dead += 2;
+                }
+                position += HEADER_BYTES + length;
+            }
+        }
+        if (position < channel.size()) {
+            channel.truncate(position);
+        }
+        size = position;
+    }
+
+    /**
+     * Adds one entry to the end of the file and forces it to disk.
+     *
+     * @param kind   put or delete
+     * @param fields the key followed by the cells
+     * @return the offset of the new entry
+     * @throws IOException if the file cannot be written
+     */
+    private long append(byte kind, String[] fields) throws IOException {
+        String line = Journal.encode(fields);
+        byte[] payload = line.substring(0, line.length() - 1).getBytes(StandardCharsets.UTF_8);
+        ByteBuffer entry = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+        entry.putInt(payload.length).put(kind).put(payload).flip();
+        long offset = size;
+        long position = offset;
+        while (entry.hasRemaining()) {
+            position += channel.write(entry, position);
+        }
+        channel.force(false);
+        size = position;
+        return offset;
+    }
+
+    /**
+     * Reads the record stored at an offset.
+     *
+     * @param offset the offset of a put entry
+     * @return the record
+     * @throws IOException if the file cannot be read
+     */
+    private T readAt(long offset) throws IOException {
+        int length = readLength(offset);
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        readFully(payload, offset + HEADER_BYTES);
+        String[] fields = Journal.decode(new String(payload.array(), StandardCharsets.UTF_8));
+        return codec.fromCells(Arrays.copyOfRange(fields, 1, fields.length));
+    }
+
+    private int readLength(long offset) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        readFully(header, offset);
+        return header.getInt(0);
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("Record file " + path + " ends inside an entry");
+            }
+            position += read;
+        }
+    }
+
+    private static String[] withKey(String key, String[] cells) {
+        List<String> fields = new ArrayList<>(cells.length + 1);
+        fields.add(key);
+        fields.addAll(Arrays.asList(cells));
+        return fields.toArray(new String[0]);
+    }
+}
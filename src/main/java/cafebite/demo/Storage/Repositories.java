@@ -0,0 +1,144 @@
+package cafebite.demo.Storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Opens the {@link Repository} for each workbook, using the store picked at startup.
+ * <p>
+ * By default ({@code -Dcafebite.store=excel}) records live in the Excel workbooks.
+ * With {@code -Dcafebite.store=local} they live in a local record file next to each
+ * workbook ("OrderData.xlsx" becomes "OrderData.db"), filled from the workbook the
+ * first time, and the workbooks are only written as an export when the app closes.
+ *
+ * @author Aquib Afzal
+ * @version 1.0
+ */
+public final class Repositories {
+    /**
+     * The system property that picks the store: "excel" or "local".
+     */
+    public static final String STORE_PROPERTY = "cafebite.store";
+
+    private static final Map<String, Repository<?>> OPEN = new LinkedHashMap<>();
+    private static final Map<String, Export<?>> EXPORTS = new LinkedHashMap<>();
+
+    private Repositories() {
+    }
+
+    /**
+     * Checks whether records are kept in local record files instead of the workbooks.
+     *
+     * @return true for the local store
+     */
+    public static boolean isLocal() {
+        return "local".equalsIgnoreCase(System.getProperty(STORE_PROPERTY, "excel"));
+    }
+
+    /**
+     * Gets the shared repository for a workbook, opening it the first time.
+     * Every repository opened here is also compacted by {@link JournalCompactor}.
+     *
+     * @param workbookPath the path to the Excel workbook
+     * @param codec        how records are laid out in the sheet
+     * @param <T>          the type of record
+     * @return the repository
+     * @throws UncheckedIOException if the local record file cannot be opened
+     */
+    @SuppressWarnings("unchecked")
+    public static synchronized <T> Repository<T> open(String workbookPath, RecordCodec<T> codec) {
+        String key = Paths.get(workbookPath).toAbsolutePath().normalize().toString();
+        Repository<T> repository = (Repository<T>) OPEN.get(key);
+        if (repository != null) {
+            return repository;
+        }
+        if (isLocal()) {
+            try {
+                repository = openLocal(workbookPath, codec);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot open the local store for " + workbookPath, e);
+            }
+            EXPORTS.put(key, new Export<>(workbookPath, codec, repository));
+        } else {
+            repository = new ExcelRepository<>(workbookPath, codec);
+        }
+        OPEN.put(key, repository);
+        JournalCompactor.register(repository::compact);
+        return repository;
+    }
+
+    /**
+     * Writes every local store out to its workbook, so the Excel files stay
+     * up to date as an export. Does nothing when the workbooks are the store.
+     */
+    public static void exportAll() {
+        Export<?>[] exports;
+        synchronized (Repositories.class) {
+            exports = EXPORTS.values().toArray(new Export<?>[0]);
+        }
+        for (Export<?> export : exports) {
+            try {
+                export.run();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Opens the record file for a workbook, filling it from the workbook if it is new.
+     * A new record file is filled under a temporary name and only moved into place once
+     * every record is in it, so a start-up that stops half way fills it again next time.
+     *
+     * @param workbookPath the path to the Excel workbook
+     * @param codec        how records are laid out
+     * @param <T>          the type of record
+     * @return the local repository
+     * @throws IOException if the record file or the workbook cannot be read
+     */
+    private static <T> Repository<T> openLocal(String workbookPath, RecordCodec<T> codec) throws IOException {
+        String base = workbookPath.endsWith(".xlsx")
+                ? workbookPath.substring(0, workbookPath.length() - ".xlsx".length())
+                : workbookPath;
+        Path recordFile = Paths.get(base + ".db");
+        if (!Files.exists(recordFile)) {
+            Path seedFile = Paths.get(base + ".db.seed");
+            Files.deleteIfExists(seedFile);
+            RecordFileRepository<T> seed = new RecordFileRepository<>(seedFile.toString(), codec);
+            try {
+                ExcelRepository<T> workbook = new ExcelRepository<>(workbookPath, codec);
+                workbook.compact();
+                for (T record : workbook.findAll()) {
+                    seed.insert(record);
+                }
+            } finally {
+                seed.close();
+            }
+            Files.move(seedFile, recordFile, StandardCopyOption.ATOMIC_MOVE);
+        }
+        return new RecordFileRepository<>(recordFile.toString(), codec);
+    }
+
+    /**
+     * Writes one local store out to its workbook.
+     *
+     * @param workbookPath the workbook to write
+     * @param codec        how records are laid out
+     * @param repository   the store to export
+     * @param <T>          the type of record
+     */
+    private record Export<T>(String workbookPath, RecordCodec<T> codec, Repository<T> repository) {
+        void run() throws IOException {
+            try (SheetWriter writer = new SheetWriter(workbookPath, codec.sheetName(), codec.headers())) {
+                repository.forEach(record -> writer.row(codec.toCells(record)));
+                writer.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package cafebite.demo.Storage;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Stores one kind of record, such as staff, customers, orders or bookings.
+ * The Excel workbooks are one implementation ({@link ExcelRepository}); a local
+ * indexed record file is another ({@link RecordFileRepository}).
+ * Use {@link Repositories#open} to get the one picked at startup.
+ *
+ * @param <T> the type of record
+ *
+ * @author Aquib Afzal
+ * @version 1.0
+ */
+public interface Repository<T> {
+
+    /**
+     * Calls the action for every record, in stored order.
+     *
+     * @param action gets each record
+     * @throws IOException if the records cannot be read
+     */
+    void forEach(Consumer<? super T> action) throws IOException;
+
+    /**
+     * Finds a record by its key.
+     *
+     * @param key the key of the record
+     * @return the record, or null if not found
+     * @throws IOException if the records cannot be read
+     */
+    T find(String key) throws IOException;
+
+    /**
+     * Adds a new record after the existing ones.
+     *
+     * @param record the record to add
+     * @throws IOException if the record cannot be written
+     */
+    void insert(T record) throws IOException;
+
+    /**
+     * Replaces a record, keeping its place.
+     *
+     * @param key    the key the record is stored under
+     * @param record the new record, which may have a different key
+     * @return true if the record was found and replaced
+     * @throws IOException if the record cannot be written
+     */
+    boolean update(String key, T record) throws IOException;
+
+    /**
+     * Removes a record.
+     *
+     * @param key the key of the record
+     * @return true if the record was found and removed
+     * @throws IOException if the record cannot be written
+     */
+    boolean delete(String key) throws IOException;
+
+    /**
+     * Applies a batch of updates and deletes, in order.
+     * Stores that rewrite a whole file for each change apply the batch in one pass.
+     *
+     * @param changes the new record for each key it is stored under, or null to remove it
+     * @return the number of keys that were found
+     * @throws IOException if the records cannot be written
+     */
+    default int applyAll(Map<String, T> changes) throws IOException {
+        int found = 0;
+        for (Map.Entry<String, T> change : changes.entrySet()) {
+            boolean applied = change.getValue() == null ? delete(change.getKey())
+                    : update(change.getKey(), change.getValue());
+            if (applied) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Tidies the store in the background, for example folding a journal into its workbook.
+     *
+     * @return the number of entries that were folded or dropped
+     * @throws IOException if the store cannot be rewritten
+     */
+    int compact() throws IOException;
+
+    /**
+     * Reads every record into a list, in stored order.
+     *
+     * @return the records
+     * @throws IOException if the records cannot be read
+     */
+    default List<T> findAll() throws IOException {
+        List<T> records = new ArrayList<>();
+        forEach(records::add);
+        return records;
+    }
+
+    /**
+     * Counts the records.
+     *
+     * @return the number of records
+     * @throws IOException if the records cannot be read
+     */
+    default int count() throws IOException {
+        int[] count = new int[1];
+        forEach(record -> count[0]++);
+        return count[0];
+    }
+
+    /**
+     * Reads one page of records. Only the records on the page are kept in memory.
+     *
+     * @param order  which way round to read the records
+     * @param offset how many records to skip
+     * @param limit  the most records to return
+     * @return the records on the page, empty if the offset is past the last record
+     * @throws IOException if the records cannot be read
+     */
+    default List<T> page(SortOrder order, int offset, int limit) throws IOException {
+        List<T> page = new ArrayList<>(Math.min(limit, 256));
+        if (order == SortOrder.OLDEST_FIRST) {
+            int[] position = new int[1];
+            forEach(record -> {
+                int at = position[0]++;
+                if (at >= offset && at - offset < limit) {
+                    page.add(record);
+                }
+            });
+            return page;
+        }
+        // Keep only the newest offset + limit records while reading
+        int keep = offset + limit;
+        ArrayDeque<T> newest = new ArrayDeque<>();
+        forEach(record -> {
+            newest.addLast(record);
+            if (newest.size() > keep) {
+                newest.removeFirst();
+            }
+        });
+        Iterator<T> records = newest.descendingIterator();
+        for (int skipped = 0; skipped < offset && records.hasNext(); skipped++) {
+            records.next();
+        }
+        while (records.hasNext() && page.size() < limit) {
+            page.add(records.next());
+        }
+        return page;
+    }
+}
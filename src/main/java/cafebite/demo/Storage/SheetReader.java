@@ -0,0 +1,139 @@
+package cafebite.demo.Storage;
+
+import org.apache.poi.UnsupportedFileFormatException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads an Excel sheet one row at a time with POI's SAX event API.
+ * Only the current row is kept in memory, so large order and booking
+ * histories can be listed without building the whole workbook.
+ * Numbers are formatted the same way on every machine, with a '.' for the decimal point,
+ * so they can be parsed back whatever the user's locale.
+ *
+ * @author Aquib Afzal
+ * @version 1.0
+ */
+public final class SheetReader {
+
+    private SheetReader() {
+    }
+
+    /**
+     * Calls the handler for every row of a sheet, header row included.
+     *
+     * @param filePath  the path to the Excel workbook
+     * @param sheetName the name of the sheet to read
+     * @param handler   gets each row as it is read
+     * @return false if the workbook does not exist, true otherwise
+     * @throws IOException if the workbook cannot be read
+     */
+    public static boolean forEachRow(String filePath, String sheetName, RowHandler handler) throws IOException {
+        File file = new File(filePath);
+        if (!file.exists() || file.length() == 0) {
+            return false;
+        }
+        OPCPackage pkg;
+        try {
+            pkg = OPCPackage.open(file, PackageAccess.READ);
+        } catch (OpenXML4JException | UnsupportedFileFormatException e) {
+            throw new IOException("Cannot open " + filePath, e);
+        }
+        try {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while (sheets.hasNext()) {
+                try (InputStream sheet = sheets.next()) {
+                    if (sheetName.equals(sheets.getSheetName())) {
+                        XMLReader parser = XMLHelper.newXMLReader();
+                        parser.setContentHandler(new XSSFSheetXMLHandler(reader.getStylesTable(), strings,
+                                new RowCollector(handler), new DataFormatter(Locale.ROOT), false));
+                        parser.parse(new InputSource(sheet));
+                        break;
+                    }
+                }
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Cannot read sheet " + sheetName + " of " + filePath, e);
+        } finally {
+            pkg.revert();
+        }
+        return true;
+    }
+
+    /**
+     * Gets a cell value from a row, treating missing cells at the end of the row as blank.
+     *
+     * @param cells  the row handed to a {@link RowHandler}
+     * @param column the zero-based column
+     * @return the cell value, or an empty string
+     */
+    public static String cell(String[] cells, int column) {
+        return column < cells.length ? cells[column] : "";
+    }
+
+    /**
+     * Gets each row of a sheet as it is read.
+     */
+    @FunctionalInterface
+    public interface RowHandler {
+        /**
+         * Handles one row.
+         *
+         * @param rowNum the zero-based row number, 0 being the header
+         * @param cells  the formatted cell values, with empty strings for blank cells
+         */
+        void row(int rowNum, String[] cells);
+    }
+
+    /**
+     * Puts the cells of each row in their columns and hands the row on when it ends.
+     */
+    private static final class RowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final RowHandler handler;
+        private final List<String> cells = new ArrayList<>();
+
+        private RowCollector(RowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells.clear();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            handler.row(rowNum, cells.toArray(new String[0]));
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference == null ? cells.size() : new CellReference(cellReference).getCol();
+            while (cells.size() <= column) {
+                cells.add("");
+            }
+            cells.set(column, formattedValue == null ? "" : formattedValue);
+        }
+    }
+}
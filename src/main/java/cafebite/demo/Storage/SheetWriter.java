@@ -0,0 +1,103 @@
+package cafebite.demo.Storage;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Writes a one-sheet Excel workbook with POI's streaming SXSSF API.
+ * Only a small window of rows is held in memory; older rows are flushed to a
+ * temporary file. The finished workbook replaces the target file in one move,
+ * so readers never see a half-written file.
+ *
+ * @author Aquib Afzal
+ * @version 1.0
+ */
+public final class SheetWriter implements AutoCloseable {
+    private static final int ROW_WINDOW = 100;
+
+    private final Path target;
+    private final SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW);
+    private final Sheet sheet;
+    private int nextRow;
+
+    /**
+     * Starts a new workbook with a grey header row.
+     *
+     * @param filePath  the workbook file that {@link #commit()} replaces
+     * @param sheetName the name of the sheet
+     * @param headers   the column headers
+     */
+    public SheetWriter(String filePath, String sheetName, String... headers) {
+        this.target = Paths.get(filePath);
+        this.sheet = workbook.createSheet(sheetName);
+
+        CellStyle headerCellStyle = workbook.createCellStyle();
+        headerCellStyle.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
+        headerCellStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+
+        Row headerRow = sheet.createRow(nextRow++);
+        for (int i = 0; i < headers.length; i++) {
+            Cell cell = headerRow.createCell(i);
+            cell.setCellValue(headers[i]);
+            cell.setCellStyle(headerCellStyle);
+        }
+    }
+
+    /**
+     * Adds a row after the last one. Numbers become numeric cells, anything else a text cell.
+     *
+     * @param values the cell values
+     */
+    public void row(Object... values) {
+        Row row = sheet.createRow(nextRow++);
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            if (value instanceof Number number) {
+                row.createCell(i).setCellValue(number.doubleValue());
+            } else {
+                row.createCell(i).setCellValue(value == null ? "" : value.toString());
+            }
+        }
+    }
+
+    /**
+     * Writes the workbook next to the target and then moves it over the target.
+     *
+     * @throws IOException if the workbook cannot be written
+     */
+    public void commit() throws IOException {
+        Path temp = Paths.get(target + ".tmp");
+        try (OutputStream out = new FileOutputStream(temp.toFile())) {
+            workbook.write(out);
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Throws away the temporary files behind the streamed rows.
+     *
+     * @throws IOException if the workbook cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        workbook.dispose();
+        workbook.close();
+    }
+}
@@ -0,0 +1,18 @@
+package cafebite.demo.Storage;
+
+/**
+ * Which way round a page of records is read.
+ *
+ * @author Aquib Afzal
+ * @version 1.0
+ */
+public enum SortOrder {
+    /**
+     * Stored order, so the first record stored comes first.
+     */
+    OLDEST_FIRST,
+    /**
+     * Reverse stored order, so the latest record stored comes first.
+     */
+    NEWEST_FIRST
+}
@@ -0,0 +1,166 @@
+package cafebite.demo.Storage;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Holds back updates and deletes for a {@link Repository} and writes them as one batch,
+ * so a run of edits costs one rewrite of the store instead of one each.
+ * Changes to the same record are merged, following it through changes of key, so only
+ * its last state is written. The batch is written a short while after the first change
+ * is held back, or straight away when {@link #flush()} is called.
+ *
+ * @param <T> the type of record
+ *
+ * @author Aquib Afzal
+ * @version 1.0
+ */
+public final class WriteBuffer<T> {
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "write-buffer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Repository<T> store;
+    private final Function<T, String> key;
+    private final long delayMillis;
+    private final Object writeLock = new Object();
+    private Map<String, T> pending = new LinkedHashMap<>();
+    private Map<String, String> storedKeys = new HashMap<>();
+    private ScheduledFuture<?> scheduled;
+
+    /**
+     * Makes a write buffer for a store.
+     *
+     * @param store       the store the changes are written to
+     * @param key         gets the key a record is stored under
+     * @param delayMillis how long to hold back the first change before writing the batch
+     */
+    public WriteBuffer(Repository<T> store, Function<T, String> key, long delayMillis) {
+        this.store = store;
+        this.key = key;
+        this.delayMillis = delayMillis;
+    }
+
+    /**
+     * Holds back an update.
+     *
+     * @param recordKey the key the record has now, which may not be written yet
+     * @param record    the new record, which may have a different key
+     */
+    public synchronized void update(String recordKey, T record) {
+        queue(recordKey, record);
+    }
+
+    /**
+     * Holds back a delete.
+     *
+     * @param recordKey the key the record has now, which may not be written yet
+     */
+    public synchronized void delete(String recordKey) {
+        queue(recordKey, null);
+    }
+
+    /**
+     * Counts the records with changes that are not written yet.
+     *
+     * @return the number of records waiting to be written
+     */
+    public synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Writes every held back change to the store now, as one batch.
+     * Changes made while the batch is being written wait for the next one.
+     * If the batch cannot be written it is held back again, ahead of any newer changes.
+     *
+     * @return the number of records written
+     * @throws IOException if the store cannot be written
+     */
+    public int flush() throws IOException {
+        synchronized (writeLock) {
+            Map<String, T> batch;
+            Map<String, String> batchKeys;
+            synchronized (this) {
+                if (scheduled != null) {
+                    scheduled.cancel(false);
+                    scheduled = null;
+                }
+                if (pending.isEmpty()) {
+                    return 0;
+                }
+                batch = pending;
+                batchKeys = storedKeys;
+                pending = new LinkedHashMap<>();
+                storedKeys = new HashMap<>();
+            }
+            try {
+                store.applyAll(batch);
+                return batch.size();
+            } catch (IOException | RuntimeException e) {
+                requeue(batch, batchKeys);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Merges a change into the held back changes, keyed by the key the record is stored under.
+     *
+     * @param recordKey the key the record has now
+     * @param record    the new record, or null to remove it
+     */
+    private void queue(String recordKey, T record) {
+        String storedKey = storedKeys.remove(recordKey);
+        if (storedKey == null) {
+            storedKey = recordKey;
+        }
+        pending.put(storedKey, record);
+        if (record != null) {
+            storedKeys.put(key.apply(record), storedKey);
+        }
+        scheduleFlush();
+    }
+
+    /**
+     * Starts the timer for writing the held back changes, unless it is already running.
+     */
+    private void scheduleFlush() {
+        if (scheduled == null) {
+            scheduled = TIMER.schedule(this::flushQuietly, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Puts a batch that could not be written back in front of the changes made since,
+     * and tries to write it again after the usual delay.
+     *
+     * @param batch     the batch that was not written
+     * @param batchKeys the stored keys of the records in the batch
+     */
+    private synchronized void requeue(Map<String, T> batch, Map<String, String> batchKeys) {
+        Map<String, T> newer = pending;
+        pending = batch;
+        storedKeys = batchKeys;
+        // Newer changes are keyed as if the batch had been written, so replay them on top
+        newer.forEach(this::queue);
+        scheduleFlush();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (IOException | RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -1,15 +1,10 @@
 package cafebite.demo;
 
 import javafx.fxml.FXML;
-import javafx.scene.Node;
-import javafx.stage.Stage;
+import javafx.scene.control.Label;
 import javafx.event.ActionEvent;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 
 import java.io.IOException;
-import java.util.Objects;
 
 /**
  * Controls the actions of the waiter interface.
@@ -19,6 +14,20 @@ import java.util.Objects;
  */
 public class WaiterController {
 
+    @FXML
+    private Label staffNameLabel;
+
+    /**
+     * Shows who is signed in, using the session started at login.
+     */
+    @FXML
+    public void initialize() {
+        StaffPrincipal principal = StaffSession.getCurrent();
+        if (staffNameLabel != null && principal != null) {
+            staffNameLabel.setText("Signed in as " + principal.fullName());
+        }
+    }
+
     /**
      * Handles the action of navigating back from the waiter interface to the staff login page.
      *
@@ -27,12 +36,7 @@ public class WaiterController {
      */
     @FXML
     public void handleBack(ActionEvent event) throws IOException {
-        Node node = (Node) event.getSource();
-        Stage stage = (Stage) node.getScene().getWindow();
-        Parent root = FXMLLoader.load(Objects.requireNonNull(getClass().getResource("StaffLoginPage.fxml")));
-        Scene scene = new Scene(root);
-        scene.getStylesheets().add(Objects.requireNonNull(getClass().getResource("styles.css")).toExternalForm());
-        stage.setScene(scene);
-        stage.show();
+        StaffSession.end();
+        Navigator.getInstance().show(Navigator.STAFF_LOGIN);
     }
 }
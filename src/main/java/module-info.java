@@ -3,6 +3,7 @@ module cafebite.demo {
     requires javafx.fxml;
     requires org.apache.poi.poi;
     requires org.apache.poi.ooxml;
+    requires java.xml;
 
 
     opens cafebite.demo to javafx.fxml;